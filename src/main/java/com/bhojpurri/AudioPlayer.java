@@ -4,6 +4,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.ServiceLoader;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.sound.sampled.AudioFormat;
 import javax.sound.sampled.AudioInputStream;
@@ -19,12 +20,29 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Handles audio playback for TTS output.
- * Supports both WAV and MP3 formats.
+ * Supports WAV and MP3 formats, plus FLAC for archived recordings (jflac SPI).
  */
 public class AudioPlayer {
     private static final Logger logger = LoggerFactory.getLogger(AudioPlayer.class);
     
     private Clip currentClip;
+    private final SilenceTrimmer silenceTrimmer = new SilenceTrimmer();
+    
+    // Pauses around playback (overridable through .env); both add to every clip
+    private final int leadInMs = Math.max(0, EnvLoader.getInt("PLAYBACK_LEAD_IN_MS", 150));  // Sound system warm-up
+    // JLayer's flush() and Clip.drain() already block until the line has played out, so no pad by default
+    private final int drainPadMs = Math.max(0, EnvLoader.getInt("PLAYBACK_DRAIN_PAD_MS", 0));
+    
+    // MP3 playback state (used for stop/resume)
+    private volatile boolean mp3Playing = false;
+    private volatile boolean stopRequested = false;
+    private volatile long positionMillis = 0;
+    private volatile String stoppedFilePath = null;
+    private volatile long stoppedAtMillis = 0;
+    
+    // Process-wide playback activity (lets the microphone ignore the cat's own voice)
+    private static final AtomicInteger ACTIVE_PLAYBACKS = new AtomicInteger();
+    private static volatile long lastPlaybackEndedAt = 0;
     
     static {
         // Check if mp3spi is available
@@ -54,6 +72,40 @@ public class AudioPlayer {
      * @throws RuntimeException if playback fails
      */
     public void play(String filePath) {
+        play(filePath, null);
+    }
+
+    /**
+     * Plays an audio file and attributes trimmed silence to the given source.
+     * 
+     * @param filePath Path to the audio file to play
+     * @param source TTS provider that produced the file (e.g. "elevenlabs"), or null if unknown
+     * @throws RuntimeException if playback fails
+     */
+    public void play(String filePath, String source) {
+        playFrom(filePath, source, 0);
+    }
+
+    /**
+     * Plays an MP3 file starting at the given time, using its frame index to
+     * jump straight to the right frame. WAV files always start from the beginning.
+     * 
+     * @param filePath Path to the audio file to play
+     * @param source TTS provider that produced the file, or null if unknown
+     * @param startMillis Position to start from in milliseconds
+     * @throws RuntimeException if playback fails
+     */
+    public void playFrom(String filePath, String source, long startMillis) {
+        ACTIVE_PLAYBACKS.incrementAndGet();
+        try {
+            playFile(filePath, source, startMillis);
+        } finally {
+            lastPlaybackEndedAt = System.currentTimeMillis();
+            ACTIVE_PLAYBACKS.decrementAndGet();
+        }
+    }
+
+    private void playFile(String filePath, String source, long startMillis) {
         if (filePath == null || filePath.isEmpty()) {
             logger.error("Invalid file path provided for playback");
             return;
@@ -70,7 +122,7 @@ public class AudioPlayer {
         // For MP3 files, always use JLayer for best compatibility
         if (filePath.toLowerCase().endsWith(".mp3")) {
             try {
-                playWithJLayer(audioFile);
+                playWithJLayer(audioFile, source, startMillis);
                 return;
             } catch (Exception e) {
                 logger.error("JLayer MP3 playback failed", e);
@@ -115,9 +167,9 @@ public class AudioPlayer {
             // Drain ensures all data is played before continuing
             currentClip.drain();
             
-            // Wait a bit after draining to ensure audio buffer is fully played
+            // Optional pad for sound cards that report drained too early
             try {
-                Thread.sleep(200);
+                Thread.sleep(drainPadMs);
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
             }
@@ -142,66 +194,159 @@ public class AudioPlayer {
     }
 
     /**
-     * Fallback MP3 playback using JLayer AdvancedPlayer with playback events.
-     * This is used for all MP3 files for best compatibility.
+     * Plays the sentence at the given index of the text that was spoken into the file.
+     * 
+     * @param filePath Path to the MP3 file
+     * @param source TTS provider that produced the file, or null if unknown
+     * @param text The text that was synthesized
+     * @param sentenceIndex Zero-based sentence to start from
+     */
+    public void playFromSentence(String filePath, String source, String text, int sentenceIndex) {
+        long startMillis = 0;
+        try {
+            startMillis = Mp3FrameIndex.forFile(new File(filePath).toPath()).timeOfSentence(text, sentenceIndex);
+        } catch (IOException e) {
+            logger.warn("No frame index for {} - starting from the beginning: {}", filePath, e.getMessage());
+        }
+        playFrom(filePath, source, startMillis);
+    }
+
+    /**
+     * Continues an interrupted file from the start of the sentence that was
+     * cut off (so the listener does not come back in mid-word), or plays it
+     * from the start if it was not interrupted.
+     * 
+     * @param filePath Path to the audio file to play
+     * @param text The text that was synthesized, or null to continue at the exact position
+     */
+    public void resume(String filePath, String text) {
+        boolean interrupted = filePath.equals(stoppedFilePath);
+        long stoppedAt = stoppedAtMillis;
+        stoppedFilePath = null;
+        if (!interrupted) {
+            playFrom(filePath, null, 0);
+            return;
+        }
+        if (text != null) {
+            try {
+                int sentence = Mp3FrameIndex.forFile(new File(filePath).toPath()).sentenceAt(text, stoppedAt);
+                logger.info("Resuming {} at sentence {} (stopped at {} ms)", filePath, sentence, stoppedAt);
+                playFromSentence(filePath, null, text, sentence);
+                return;
+            } catch (IOException e) {
+                logger.warn("No frame index for {} - resuming at {} ms: {}", filePath, stoppedAt, e.getMessage());
+            }
+        }
+        playFrom(filePath, null, stoppedAt);
+    }
+
+    /**
+     * Checks if the file was interrupted part-way and can be resumed.
      */
-    private void playWithJLayer(File audioFile) throws Exception {
-        logger.info("Playing MP3 with JLayer: {}", audioFile.getAbsolutePath());
+    public boolean canResume(String filePath) {
+        return filePath != null && filePath.equals(stoppedFilePath);
+    }
+
+    /**
+     * MP3 playback using JLayer's decoder with a manual frame loop.
+     * Decoded PCM passes through the {@link SilenceTrimmer} so provider padding
+     * at the start and end of the clip is never sent to the sound card.
+     * When startMillis is non-zero the frame index is used to seek to the
+     * matching frame without decoding anything before it.
+     */
+    private void playWithJLayer(File audioFile, String source, long startMillis) throws Exception {
+        logger.info("Playing MP3 with JLayer: {} from {} ms", audioFile.getAbsolutePath(), startMillis);
         
         FileInputStream fis = null;
-        javazoom.jl.player.advanced.AdvancedPlayer player = null;
+        javazoom.jl.decoder.Bitstream bitstream = null;
+        javazoom.jl.player.AudioDevice device = null;
         
         try {
             fis = new FileInputStream(audioFile);
-            player = new javazoom.jl.player.advanced.AdvancedPlayer(fis);
             
-            System.out.println("🔊 Starting JLayer playback...");
+            // Seek to the frame that contains startMillis
+            long position = 0;
+            if (startMillis > 0) {
+                Mp3FrameIndex index = Mp3FrameIndex.forFile(audioFile.toPath());
+                int frame = index.frameAt(startMillis);
+                fis.getChannel().position(index.offsetOf(frame));
+                position = index.timeOf(frame);
+                logger.info("Seeked to frame {} ({} ms)", frame, position);
+            }
+            positionMillis = position;
+            stopRequested = false;
+            mp3Playing = true;
             
-            // Track if playback completed
-            final boolean[] playbackComplete = {false};
-            final int[] totalFrames = {0};
+            bitstream = new javazoom.jl.decoder.Bitstream(new java.io.BufferedInputStream(fis));
+            javazoom.jl.decoder.Decoder decoder = new javazoom.jl.decoder.Decoder();
+            device = javazoom.jl.player.FactoryRegistry.systemRegistry().createAudioDevice();
+            device.open(decoder);
+            final javazoom.jl.player.AudioDevice out = device;
+            SilenceTrimmer.PcmSink sink = (samples, offset, length) -> out.write(samples, offset, length);
             
-            // Add playback listener to track when playback actually finishes
-            player.setPlayBackListener(new javazoom.jl.player.advanced.PlaybackListener() {
-                @Override
-                public void playbackStarted(javazoom.jl.player.advanced.PlaybackEvent evt) {
-                    System.out.println("   ▶️ Playback started at frame " + evt.getFrame());
-                }
-                
-                @Override
-                public void playbackFinished(javazoom.jl.player.advanced.PlaybackEvent evt) {
-                    totalFrames[0] = evt.getFrame();
-                    playbackComplete[0] = true;
-                    System.out.println("   ⏹️ Playback finished - decoded " + evt.getFrame() + " frames");
-                }
-            });
+            System.out.println("🔊 Starting JLayer playback...");
             
             // Small delay before starting to let sound system initialize
             // This prevents cutting the first syllable
-            Thread.sleep(150);
+            Thread.sleep(leadInMs);
             
-            // Play the entire file - this blocks until decoding is complete
-            player.play();
+            int totalFrames = 0;
+            boolean trimmerStarted = false;
+            double playedMillis = position;
+            javazoom.jl.decoder.Header header;
             
-            // Wait for the playback listener to confirm completion
-            Thread.sleep(100);
+            // Decode frame by frame - this blocks until the whole file is written to the device
+            while (!stopRequested && (header = bitstream.readFrame()) != null) {
+                javazoom.jl.decoder.SampleBuffer output =
+                    (javazoom.jl.decoder.SampleBuffer) decoder.decodeFrame(header, bitstream);
+                
+                if (!trimmerStarted) {
+                    silenceTrimmer.begin(decoder.getOutputFrequency(), decoder.getOutputChannels(),
+                        javazoom.jl.decoder.Obuffer.OBUFFERSIZE);
+                    trimmerStarted = true;
+                }
+                silenceTrimmer.process(output.getBuffer(), output.getBufferLength(), sink);
+                
+                bitstream.closeFrame();
+                totalFrames++;
+                playedMillis += header.ms_per_frame();
+                positionMillis = (long) playedMillis;
+            }
             
-            if (!playbackComplete[0]) {
-                logger.warn("⚠️ Playback listener did not fire - waiting additional time");
-                // Give it more time if listener didn't fire
-                Thread.sleep(500);
+            if (stopRequested) {
+                // Remember where we were so the file can be resumed later.
+                // Decoding runs ahead of the speaker, so prefer what the device actually played.
+                int heard = device.getPosition();
+                stoppedFilePath = audioFile.getPath();
+                stoppedAtMillis = heard > 0 ? Math.min(positionMillis, position + heard) : positionMillis;
+                logger.info("MP3 playback stopped at {} ms", stoppedAtMillis);
+                return;
+            }
+            
+            if (trimmerStarted) {
+                silenceTrimmer.finish(source, sink);
             }
             
-            System.out.println("✅ JLayer playback finished (frames=" + totalFrames[0] + ")");
+            // Block until the device has played everything we wrote
+            device.flush();
+            
+            System.out.println("✅ JLayer playback finished (frames=" + totalFrames + ")");
             logger.info("JLayer playback finished successfully");
             
-            // CRITICAL: Extended delay to ensure sound card buffers are completely flushed
-            // Without this, the last word/syllable gets cut off
-            Thread.sleep(1000);
+            // flush() has already drained the line; pad only if a sound card still cuts the last syllable
+            Thread.sleep(drainPadMs);
             
         } finally {
-            if (player != null) {
-                player.close();
+            mp3Playing = false;
+            if (device != null) {
+                device.close();
+            }
+            if (bitstream != null) {
+                try {
+                    bitstream.close();
+                } catch (Exception e) {
+                    // Ignore
+                }
             }
             if (fis != null) {
                 try {
@@ -242,8 +387,13 @@ public class AudioPlayer {
 
     /**
      * Stops any currently playing audio.
+     * An interrupted MP3 can be continued with {@link #resume(String, String)}.
      */
     public void stopCurrentPlayback() {
+        if (mp3Playing) {
+            logger.info("Stopping current MP3 playback");
+            stopRequested = true;
+        }
         if (currentClip != null && currentClip.isRunning()) {
             logger.info("Stopping current audio playback");
             currentClip.stop();
@@ -258,6 +408,20 @@ public class AudioPlayer {
      * @return true if audio is playing, false otherwise
      */
     public boolean isPlaying() {
-        return currentClip != null && currentClip.isRunning();
+        return mp3Playing || (currentClip != null && currentClip.isRunning());
+    }
+
+    /**
+     * Checks if any AudioPlayer instance is currently playing.
+     */
+    public static boolean isAnyPlaybackActive() {
+        return ACTIVE_PLAYBACKS.get() > 0;
+    }
+
+    /**
+     * Gets the wall-clock time the last playback ended (0 if none has).
+     */
+    public static long getLastPlaybackEndedAt() {
+        return lastPlaybackEndedAt;
     }
 }
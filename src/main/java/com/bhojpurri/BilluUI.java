@@ -20,15 +20,45 @@ public class BilluUI {
     private JTextArea outputArea;
     private JComboBox<LanguageOption> languageDropdown; // Language selector
     private SpeechRecorder recorder;
-    private Translator translator;
-    private TTSManager ttsManager;
-    private DatabaseManager dbManager;
+    // Set by start-up tasks on background threads (see the constructor)
+    private final StartupOrchestrator startup;
+    private volatile Translator translator;
+    private volatile TTSManager ttsManager;
+    private volatile TranslationRepository dbManager;
+    private volatile TranslationWriteBehind dbWriter; // Batches saves off the pipeline thread
+    private volatile TranslationMemory translationMemory; // Earlier translations, checked before the API
+    private volatile LatencyRollup latencyRollup; // Daily per-stage percentiles
+    private volatile HistoryRetention historyRetention; // Purges months past RETENTION_MONTHS
+    private volatile SpeechFileSweeper speechFileSweeper; // Deletes speech files no translation points at
+    private volatile RecordingArchiver recordingArchiver; // Background WAV -> FLAC transcoding
+    private final CompletableFuture<Void> pipelineReady; // Translator and TTS are usable
+    private final CompletableFuture<Void> storageReady;  // Database and its services are usable
     private CatAnimator catAnimator; // Animated cat sprite handler
-    private volatile boolean isProcessing = false;
-    private String lastTTSFilePath = null; // Store last played TTS file
+    private LevelMeter levelMeter; // Live mic level fed by the capture thread
+    private final UtterancePipeline pipeline; // Lets the next utterance start while earlier ones are in flight
+    private volatile LanguageOption selectedLanguage; // Read by the pipeline threads
+    private volatile boolean speaking = false; // A result is being played
+    private volatile LastSpeech lastSpeech = null; // Last played TTS file and its text
     private JButton replayButton; // Button to replay last audio
+    private volatile AudioPlayer replayPlayer; // Shared so replays can be interrupted and resumed
     private JButton historyButton; // Button to show history
     private JButton resetDbButton; // Button to reset database
+    private JToggleButton handsFreeButton; // Continuous listening on/off
+    private ContinuousListener continuousListener; // Hands-free utterance segmentation and queue
+    private volatile boolean handsFree = false;
+    
+    /**
+     * The last speech played, kept for Replay (the text lets a replay restart at a sentence).
+     */
+    private static class LastSpeech {
+        final String filePath;
+        final String text;
+
+        LastSpeech(String filePath, String text) {
+            this.filePath = filePath;
+            this.text = text;
+        }
+    }
     
     // Language options for translation
     private static class LanguageOption {
@@ -48,11 +78,66 @@ public class BilluUI {
         }
     }
 
+    /**
+     * Creates the recorder and schedules everything slow (network clients, audio
+     * codecs, the database) on background threads, so the window can be shown
+     * straight away. Features light up as their subsystems become ready.
+     */
     public BilluUI() {
-        recorder = new SpeechRecorder();
-        translator = new Translator();
-        ttsManager = new TTSManager();
-        dbManager = new DatabaseManager();
+        startup = new StartupOrchestrator();
+        recorder = new SpeechRecorder(); // Cheap, and the level meter needs its ring buffer
+        pipeline = new UtterancePipeline(new PipelineStages());
+        continuousListener = new ContinuousListener(recorder, this::processHandsFreeUtterance);
+        if (recorder.isAlwaysOpen()) {
+            // Open the mic early so the very first SPACE press already has pre-roll
+            startup.run("microphone", () -> {
+                try {
+                    recorder.openMicrophone();
+                } catch (RuntimeException e) {
+                    logger.warn("Could not open microphone at start-up: {}", e.getMessage());
+                }
+            });
+        }
+        CompletableFuture<Void> translatorReady = startup.run("translator", () -> translator = new Translator());
+        CompletableFuture<Void> ttsReady = startup.run("text-to-speech", () -> {
+            replayPlayer = new AudioPlayer(); // First use scans the audio codec providers
+            ttsManager = new TTSManager();
+        });
+        pipelineReady = CompletableFuture.allOf(translatorReady, ttsReady);
+
+        CompletableFuture<Void> databaseReady = startup.run("database", () -> dbManager = TranslationRepository.open());
+        storageReady = startup.run("storage services", () -> {
+            dbWriter = new TranslationWriteBehind(dbManager);
+            translationMemory = new TranslationMemory(dbManager);
+            latencyRollup = new LatencyRollup(dbManager);
+            historyRetention = new HistoryRetention(dbManager);
+            speechFileSweeper = new SpeechFileSweeper(dbManager);
+        }, databaseReady);
+        long launchedAt = System.currentTimeMillis();
+        startup.run("recording archiver", () -> {
+            recordingArchiver = new RecordingArchiver(dbManager);
+            // Only files from earlier runs: the user may already be recording
+            recordingArchiver.archiveExisting(new java.io.File("audio_recordings"), launchedAt);
+        }, databaseReady);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            // Any of these may still be missing if the app closes during start-up
+            if (latencyRollup != null) {
+                latencyRollup.close();
+            }
+            if (historyRetention != null) {
+                historyRetention.close();
+            }
+            if (speechFileSweeper != null) {
+                speechFileSweeper.close();
+            }
+            if (dbWriter != null) {
+                dbWriter.close(); // Flush pending saves before the pool goes away
+            }
+            if (dbManager != null) {
+                dbManager.close();
+            }
+        }, "db-shutdown"));
     }
 
     public void createAndShowGUI() {
@@ -94,24 +179,32 @@ public class BilluUI {
         statusLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
         catPanel.add(statusLabel);
         
+        // Live microphone level and waveform
+        catPanel.add(Box.createRigidArea(new Dimension(0, 10)));
+        levelMeter = new LevelMeter(recorder.getLevelRing());
+        levelMeter.setAlignmentX(Component.CENTER_ALIGNMENT);
+        catPanel.add(levelMeter);
+        levelMeter.start();
+        recorder.setLimitListener(() -> SwingUtilities.invokeLater(() ->
+            updateUI("⏱️ Recording limit reached - release SPACE to translate",
+                "⚠️ Only the first part of this recording will be translated (RECORDER_MAX_SECONDS)")));
+        
         catPanel.add(Box.createVerticalGlue());
         
         leftPanel.add(catPanel, BorderLayout.CENTER);
         
-        // Initialize cat animator (no emoji fallback displayed)
-        try {
-            catAnimator = new CatAnimator(mascotLabel);
-            if (catAnimator.isLoaded()) {
-                logger.info("Cat sprite animations loaded successfully!");
-                catAnimator.start(); // Start the idle animation
-            } else {
-                logger.warn("Failed to load cat sprites");
-                mascotLabel.setText("");
-            }
-        } catch (Exception e) {
-            logger.error("Error initializing cat animator", e);
-            mascotLabel.setText(""); // No emoji placeholder
-        }
+        // Load and scale the cat sprites in the background; the cat appears once they are ready
+        startup.task("cat sprites", () -> new CatAnimator(mascotLabel))
+            .whenComplete((animator, ex) -> SwingUtilities.invokeLater(() -> {
+                if (animator != null && animator.isLoaded()) {
+                    logger.info("Cat sprite animations loaded successfully!");
+                    catAnimator = animator;
+                    catAnimator.start(); // Start the idle animation
+                } else {
+                    logger.warn("Failed to load cat sprites");
+                    mascotLabel.setText(""); // No emoji placeholder
+                }
+            }));
 
         // RIGHT SIDE - Console/Output Area
         JPanel rightPanel = new JPanel(new BorderLayout(10, 10));
@@ -174,12 +267,14 @@ public class BilluUI {
         languageDropdown = new JComboBox<>(languages);
         languageDropdown.setFont(new Font("SansSerif", Font.PLAIN, 12));
         languageDropdown.setSelectedIndex(0); // Default to Bhojpuri
+        selectedLanguage = languages[0];
         languageDropdown.setToolTipText("Select output language for translation");
         
         // Add action listener to show selected language
         languageDropdown.addActionListener(e -> {
             LanguageOption selected = (LanguageOption) languageDropdown.getSelectedItem();
             if (selected != null) {
+                selectedLanguage = selected; // Applies to utterances recorded from now on
                 logger.info("Language changed to: {} ({})", selected.name, selected.code);
                 statusLabel.setText("Language: " + selected.flag + " " + selected.name + " | Press SPACE to talk...");
             }
@@ -245,9 +340,31 @@ public class BilluUI {
         resetDbButton.setForeground(Color.RED);
         resetDbButton.addActionListener(e -> resetDatabase());
         
+        // Hands-free toggle
+        handsFreeButton = new JToggleButton("🎧 Hands-free");
+        handsFreeButton.setFont(new Font("SansSerif", Font.BOLD, 12));
+        handsFreeButton.setToolTipText("Listen continuously - no need to hold SPACE");
+        handsFreeButton.addActionListener(e -> toggleHandsFree(handsFreeButton.isSelected()));
+        
+        // History and reset need the database; enable them once it is ready
+        historyButton.setEnabled(false);
+        resetDbButton.setEnabled(false);
+        historyButton.setToolTipText("Loading database...");
+        storageReady.whenComplete((ignored, ex) -> SwingUtilities.invokeLater(() -> {
+            if (ex == null) {
+                historyButton.setEnabled(true);
+                resetDbButton.setEnabled(true);
+                historyButton.setToolTipText("View translation history");
+            } else {
+                historyButton.setToolTipText("Database unavailable");
+                resetDbButton.setToolTipText("Database unavailable");
+            }
+        }));
+        
         buttonsPanel.add(replayButton);
         buttonsPanel.add(historyButton);
         buttonsPanel.add(resetDbButton);
+        buttonsPanel.add(handsFreeButton);
         
         rightPanel.add(buttonsPanel, BorderLayout.SOUTH);
 
@@ -269,15 +386,20 @@ public class BilluUI {
 
         frame.add(mainPanel);
         frame.setVisible(true);
+        startup.mark("window shown");
+        startup.finish(); // Every start-up task has been scheduled
 
         // Key listener for spacebar
         KeyboardFocusManager.getCurrentKeyboardFocusManager().addKeyEventDispatcher(new KeyEventDispatcher() {
             @Override
             public boolean dispatchKeyEvent(KeyEvent e) {
                 if (e.getKeyCode() == KeyEvent.VK_SPACE) {
-                    if (e.getID() == KeyEvent.KEY_PRESSED && !isProcessing) {
+                    if (handsFree) {
+                        return true; // Push-to-talk is off while listening continuously
+                    }
+                    if (e.getID() == KeyEvent.KEY_PRESSED) {
                         handleSpacePressed();
-                    } else if (e.getID() == KeyEvent.KEY_RELEASED && !isProcessing) {
+                    } else if (e.getID() == KeyEvent.KEY_RELEASED) {
                         handleSpaceReleased();
                     }
                     return true; // Consume event
@@ -290,9 +412,23 @@ public class BilluUI {
     }
 
     private void handleSpacePressed() {
+        if (recorder.isRecording()) {
+            return; // Key auto-repeat
+        }
+        if (!pipeline.hasCapacity()) {
+            updateUI("⏳ Busy - " + pipeline.getInFlight() + " recordings still in progress, try again shortly", null);
+            return;
+        }
         logger.info("Space key pressed - starting recording");
-        // Clear previous output for new recording
-        clearOutput();
+        
+        // Barge-in: talking over a replay stops it (it can be resumed with Replay)
+        if (replayPlayer != null && replayPlayer.isPlaying()) {
+            replayPlayer.stopCurrentPlayback();
+        }
+        // Clear previous output for new recording (unless earlier results are still to come)
+        if (pipeline.getInFlight() == 0) {
+            clearOutput();
+        }
         updateUI("🎙️ Listening... (Recording)", null);
         
         // Change cat animation to LISTENING (paw over ear!)
@@ -304,149 +440,278 @@ public class BilluUI {
     }
 
     private void handleSpaceReleased() {
-        logger.info("Space key released - stopping recording");
-        isProcessing = true;
-        updateUI("🧠 Processing...", "Recording stopped. Transcribing and translating...");
-        
-        // Change cat animation to THINKING
-        if (catAnimator != null) {
-            catAnimator.setState(CatAnimator.AnimationState.THINKING);
+        if (!recorder.isRecording()) {
+            return; // The press was refused
         }
-        
+        logger.info("Space key released - stopping recording");
         String filePath = recorder.stopRecording();
-        
-        // Process recording asynchronously
-        CompletableFuture.runAsync(() -> processRecording(filePath))
-            .exceptionally(ex -> {
-                logger.error("Error during processing", ex);
-                SwingUtilities.invokeLater(() -> {
-                    updateUI("⚠️ Error occurred", "Error: " + ex.getMessage());
-                    
-                    // Set cat to ERROR state
-                    if (catAnimator != null) {
-                        catAnimator.setState(CatAnimator.AnimationState.ERROR);
-                    }
-                    
-                    isProcessing = false;
-                });
-                return null;
-            });
+        RecordingSessionManager.RecordingSession session = recorder.getLastSession();
+        if (filePath == null) {
+            updateUI("⚠️ Recording failed", "Error: nothing was recorded");
+            return;
+        }
+        submitToPipeline(filePath, session, false);
     }
 
-    private void processRecording(String filePath) {
-        String englishText = null;
-        String translatedText = null;
-        String ttsPath = null;
-        long audioSize = 0;
-        
-        // Get selected language
-        LanguageOption selectedLang = (LanguageOption) languageDropdown.getSelectedItem();
-        String targetLangCode = selectedLang != null ? selectedLang.code : "bho";
-        String targetLangName = selectedLang != null ? selectedLang.name : "Bhojpuri";
-        
+    /**
+     * Hands a finished recording to the pipeline; the session is completed once
+     * the utterance has been played and saved (or has failed).
+     *
+     * @param wait Wait for room (hands-free worker) rather than give up when full (UI thread)
+     */
+    private void submitToPipeline(String filePath, RecordingSessionManager.RecordingSession session,
+                                  boolean wait) {
+        LanguageOption language = selectedLanguage;
+        String targetLangCode = language != null ? language.code : "bho";
+        String targetLangName = language != null ? language.name : "Bhojpuri";
+
+        CompletableFuture<UtterancePipeline.Utterance> done;
         try {
-            logger.info("Processing recording from: {}", filePath);
+            done = wait
+                ? pipeline.submit(filePath, session, targetLangCode, targetLangName)
+                : pipeline.offer(filePath, session, targetLangCode, targetLangName);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            done = null;
+        }
+        if (done == null) {
+            logger.warn("Pipeline full - dropped recording {}", filePath);
+            if (session != null) {
+                recorder.getSessionManager().complete(session);
+            }
+            return;
+        }
+
+        SwingUtilities.invokeLater(() -> {
+            if (!speaking && !recorder.isRecording()) {
+                updateUI("🧠 Processing...", null);
+                
+                // Change cat animation to THINKING
+                if (catAnimator != null) {
+                    catAnimator.setState(CatAnimator.AnimationState.THINKING);
+                }
+            }
+        });
+        done.whenComplete((utterance, ex) -> {
+            if (session != null) {
+                recorder.getSessionManager().complete(session);
+            }
+            SwingUtilities.invokeLater(() -> refreshStatus(utterance));
+        });
+    }
+
+    /**
+     * Shows what the pipeline is doing after an utterance has left it.
+     */
+    private void refreshStatus(UtterancePipeline.Utterance finished) {
+        if (speaking || recorder.isRecording()) {
+            return; // The speaking/listening state is more useful
+        }
+        int remaining = pipeline.getInFlight();
+        if (remaining > 0) {
+            updateUI("🧠 Processing... (" + remaining + " in progress)", null);
+            if (catAnimator != null) {
+                catAnimator.setState(CatAnimator.AnimationState.THINKING);
+            }
+        } else if (finished == null || finished.failure == null) {
+            updateUI(handsFree ? "🎧 Listening... just talk" : "✅ Done! Press SPACE to talk again...", null);
             
-            // Get audio file size
-            java.io.File audioFile = new java.io.File(filePath);
-            audioSize = audioFile.length();
+            // Change cat animation back to IDLE
+            if (catAnimator != null) {
+                catAnimator.setState(CatAnimator.AnimationState.IDLE);
+            }
+        }
+        // Otherwise leave the error of the last utterance showing
+    }
+
+    /**
+     * The pipeline stages for one utterance. Transcription, translation and
+     * synthesis of different utterances may overlap; play, persist and failed
+     * run in recording order.
+     */
+    private class PipelineStages implements UtterancePipeline.Handler {
+
+        @Override
+        public void transcribe(UtterancePipeline.Utterance utterance) throws Exception {
+            RecordingSessionManager.RecordingSession session = utterance.session;
+            CapturedAudio capture = session != null ? session.getCapture() : null; // null in file mode
+            if (session != null) {
+                utterance.timings.set(StageTimings.Stage.RECORD, System.currentTimeMillis() - session.getStartedAt());
+            }
+            logger.info("Processing recording from: {} ({})", utterance.audioPath, utterance);
+            if (!pipelineReady.isDone()) {
+                // Recording works from the first moment; processing waits for start-up to finish
+                SwingUtilities.invokeLater(() -> appendOutput("⏳ Still starting up..."));
+            }
+            pipelineReady.join();
             
-            // Step 1: Transcribe to English
-            logger.info("Transcribing audio to English text...");
-            final String transcribedEnglish = translator.transcribeToEnglish(filePath);
-            englishText = transcribedEnglish;
-            logger.info("Transcribed text: {}", englishText);
+            // Get audio size (the archival WAV may still be being written in memory mode)
+            utterance.audioSize = capture != null ? capture.getWavSize() : new java.io.File(utterance.audioPath).length();
             
-            SwingUtilities.invokeLater(() -> 
-                appendOutput("English: " + transcribedEnglish)
-            );
-
-            // Step 2: Translate to selected language
-            logger.info("Translating English to {}...", targetLangName);
-            final String translated = translator.translateTo(englishText, targetLangCode);
-            translatedText = translated;
-            logger.info("Translated text: {}", translatedText);
+            // Transcribe to English (straight from memory when available)
+            logger.info("Transcribing audio to English text...");
+            utterance.englishText = capture != null
+                ? translator.transcribeToEnglish(capture, utterance.timings)
+                : translator.transcribeToEnglish(utterance.audioPath, utterance.timings);
+            logger.info("Transcribed text: {}", utterance.englishText);
+        }
+
+        @Override
+        public void translate(UtterancePipeline.Utterance utterance) throws Exception {
+            logger.info("Translating English to {}...", utterance.languageName);
+            // (repeated phrases come from the translation memory without an API call)
+            long translateStart = System.currentTimeMillis();
+            TranslationMemory memory = translationMemory; // Not there until the database is ready
+            String remembered = memory != null ? memory.lookup(utterance.englishText, utterance.targetLanguage) : null;
+            utterance.translatedText = remembered != null
+                ? remembered
+                : translator.translateTo(utterance.englishText, utterance.targetLanguage);
+            utterance.timings.set(StageTimings.Stage.TRANSLATE, System.currentTimeMillis() - translateStart);
+            logger.info("Translated text: {}", utterance.translatedText);
+        }
+
+        @Override
+        public void synthesize(UtterancePipeline.Utterance utterance) throws Exception {
+            // Speech is generated ahead of time so it can play as soon as the previous one ends
+            logger.info("Converting {} text to speech...", utterance.languageName);
+            utterance.speech = ttsManager.synthesize(utterance.translatedText, utterance.targetLanguage, utterance.timings);
+        }
+
+        @Override
+        public void play(UtterancePipeline.Utterance utterance) throws Exception {
+            final String translated = utterance.translatedText;
+            final String langName = utterance.languageName;
             
             // For Urdu/Arabic/Hebrew, show note about display
-            if (targetLangCode.equals("ur")) {
+            if (utterance.targetLanguage.equals("ur")) {
                 // Note: Urdu is being spoken correctly, but displaying romanized version
-                System.out.println("\n📝 " + targetLangName + " (Urdu script): " + translated);
+                System.out.println("\n📝 " + langName + " (Urdu script): " + translated);
                 System.out.println("   ℹ️ Note: Urdu text is displayed above (may not render in console)");
                 System.out.println("   ℹ️ The audio will speak Urdu correctly!");
             } else {
-                System.out.println("\n📝 " + targetLangName + ": " + translated);
+                System.out.println("\n📝 " + langName + ": " + translated);
             }
             
-            final String langName = targetLangName; // For lambda capture
+            speaking = true;
             SwingUtilities.invokeLater(() -> {
+                appendOutput("English: " + utterance.englishText);
                 appendOutput(langName + ": " + translated);
-                updateUI("🔊 Speaking...", null);
-                
-                // Change cat animation to SPEAKING (mouth movement!)
-                if (catAnimator != null) {
-                    catAnimator.setState(CatAnimator.AnimationState.SPEAKING);
+                if (!recorder.isRecording()) {
+                    updateUI("🔊 Speaking...", null);
+                    
+                    // Change cat animation to SPEAKING (mouth movement!)
+                    if (catAnimator != null) {
+                        catAnimator.setState(CatAnimator.AnimationState.SPEAKING);
+                    }
                 }
             });
 
-            // Step 3: Convert to speech and play
-            logger.info("Converting {} text to speech...", targetLangName);
-            final String finalTtsPath = ttsManager.speak(translatedText, targetLangCode);
-            ttsPath = finalTtsPath;
-            lastTTSFilePath = finalTtsPath; // Store for replay functionality
-            logger.info("Speech playback completed");
-            
-            // Enable replay button after first TTS
-            SwingUtilities.invokeLater(() -> {
-                if (replayButton != null && finalTtsPath != null) {
-                    replayButton.setEnabled(true);
+            try {
+                final String finalTtsPath = utterance.speech != null
+                    ? ttsManager.play(utterance.speech, utterance.timings)
+                    : null;
+                utterance.ttsPath = finalTtsPath;
+                logger.info("Speech playback completed");
+                
+                if (finalTtsPath != null) {
+                    lastSpeech = new LastSpeech(finalTtsPath, translated); // Store for replay functionality
+                    
+                    // Enable replay button after first TTS
+                    SwingUtilities.invokeLater(() -> {
+                        if (replayButton != null) {
+                            replayButton.setEnabled(true);
+                        }
+                    });
                 }
-            });
-
-            // Step 4: Save to database
-            final String finalEnglish = englishText;
-            final String finalTranslated = translatedText;
-            final long finalAudioSize = audioSize;
-            final String finalLangCode = targetLangCode;
-            
-            int dbId = dbManager.saveTranslation(filePath, finalAudioSize, finalEnglish, 
-                                                  finalTranslated, finalLangCode, finalTtsPath);
-            
-            if (dbId > 0) {
-                logger.info("💾 Translation saved to database with ID: {}", dbId);
-                SwingUtilities.invokeLater(() -> 
-                    appendOutput("💾 Saved to database (ID: " + dbId + ")")
-                );
+            } finally {
+                speaking = false;
             }
+        }
 
-            // Reset UI
-            SwingUtilities.invokeLater(() -> {
-                updateUI("✅ Done! Press SPACE to talk again...", null);
-                
-                // Change cat animation back to IDLE
-                if (catAnimator != null) {
-                    catAnimator.setState(CatAnimator.AnimationState.IDLE);
+        @Override
+        public void persist(UtterancePipeline.Utterance utterance) {
+            RecordingSessionManager.RecordingSession session = utterance.session;
+            TranslationRepository.TranslationRecord record = new TranslationRepository.TranslationRecord();
+            record.audioFilePath = utterance.audioPath;
+            record.audioFileSize = utterance.audioSize;
+            record.englishText = utterance.englishText;
+            record.translatedText = utterance.translatedText;
+            record.targetLanguage = utterance.targetLanguage;
+            record.ttsFilePath = utterance.ttsPath;
+            record.timings = utterance.timings;
+            logger.info("⏱️ Stage timings: {}", utterance.timings);
+            
+            // Saved in the background; the pipeline does not wait for MySQL
+            storageReady.thenCompose(ignored -> dbWriter.submit(record)).thenAccept(dbId -> {
+                if (session != null && recordingArchiver != null) {
+                    // The row now exists, so the archiver can repoint it at the compressed file
+                    recordingArchiver.archiveWhenWritten(session);
                 }
                 
-                appendOutput("---");
-                isProcessing = false;
+                if (dbId > 0) {
+                    logger.info("💾 Translation saved to database with ID: {}", dbId);
+                    SwingUtilities.invokeLater(() -> 
+                        appendOutput("💾 Saved to database (ID: " + dbId + ")")
+                    );
+                }
             });
 
-        } catch (Exception ex) {
-            logger.error("Error processing recording", ex);
+            SwingUtilities.invokeLater(() -> appendOutput("---"));
+        }
+
+        @Override
+        public void failed(UtterancePipeline.Utterance utterance, Exception ex) {
             SwingUtilities.invokeLater(() -> {
                 updateUI("⚠️ Error: " + ex.getMessage(), 
                     "Failed to process. Please try again.");
                 
                 // Set cat to ERROR state on error
-                if (catAnimator != null) {
+                if (catAnimator != null && !recorder.isRecording()) {
                     catAnimator.setState(CatAnimator.AnimationState.ERROR);
                 }
-                
-                isProcessing = false;
             });
         }
     }
 
+    /**
+     * Turns continuous (hands-free) listening on or off.
+     */
+    private void toggleHandsFree(boolean enable) {
+        if (enable == handsFree) {
+            return;
+        }
+        if (enable && recorder.isRecording()) {
+            handsFreeButton.setSelected(false);
+            return;
+        }
+        try {
+            if (enable) {
+                continuousListener.start();
+                handsFree = true;
+                updateUI("🎧 Listening... just talk", "🎧 Hands-free mode on - pause briefly after each sentence");
+            } else {
+                handsFree = false;
+                continuousListener.stop();
+                updateUI("Press and hold SPACE to talk...", "🎧 Hands-free mode off ("
+                    + continuousListener.getDroppedCount() + " utterances dropped while busy)");
+            }
+        } catch (RuntimeException e) {
+            logger.error("Could not switch hands-free mode", e);
+            handsFree = false;
+            handsFreeButton.setSelected(false);
+            updateUI("⚠️ Microphone unavailable", "Error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Hands one segmented utterance to the pipeline (hands-free worker thread).
+     * Waits while the pipeline is full, so the listener's own queue (which drops
+     * the oldest utterance) absorbs the backlog.
+     */
+    private void processHandsFreeUtterance(RecordingSessionManager.RecordingSession session) {
+        submitToPipeline(session.getFile().getAbsolutePath(), session, true);
+    }
+
     private void updateUI(String status, String output) {
         // Update status label
         statusLabel.setText(status);
@@ -461,10 +726,11 @@ public class BilluUI {
     }
     
     /**
-     * Replay the last played TTS audio
+     * Replay the last played TTS audio (or resume it if it was interrupted)
      */
     private void replayLastAudio() {
-        if (lastTTSFilePath == null) {
+        LastSpeech speech = lastSpeech;
+        if (speech == null) {
             JOptionPane.showMessageDialog(frame, 
                 "No audio to replay yet!", 
                 "Replay", 
@@ -474,15 +740,16 @@ public class BilluUI {
         
         CompletableFuture.runAsync(() -> {
             try {
+                boolean resuming = replayPlayer.canResume(speech.filePath);
                 SwingUtilities.invokeLater(() -> {
-                    appendOutput("🔊 Replaying last audio...");
+                    appendOutput(resuming ? "🔊 Resuming from the interrupted sentence..." : "🔊 Replaying last audio...");
                     if (catAnimator != null) {
                         catAnimator.setState(CatAnimator.AnimationState.SPEAKING);
                     }
                 });
                 
-                AudioPlayer audioPlayer = new AudioPlayer();
-                audioPlayer.play(lastTTSFilePath);
+                // Restarts the sentence a barge-in interrupted, otherwise starts at zero
+                replayPlayer.resume(speech.filePath, speech.text);
                 
                 SwingUtilities.invokeLater(() -> {
                     appendOutput("✅ Replay complete!");
@@ -510,37 +777,9 @@ public class BilluUI {
         historyDialog.setSize(900, 500);
         historyDialog.setLocationRelativeTo(frame);
         
-        // Get all translations from database
-        java.util.List<DatabaseManager.TranslationRecord> records = dbManager.getAllTranslations();
-        
-        if (records.isEmpty()) {
-            JLabel emptyLabel = new JLabel("No translations yet!", SwingConstants.CENTER);
-            emptyLabel.setFont(new Font("SansSerif", Font.PLAIN, 16));
-            historyDialog.add(emptyLabel);
-            historyDialog.setVisible(true);
-            return;
-        }
-        
-        // Create table model
-        String[] columnNames = {"ID", "Date/Time", "English", "Translation", "Language", "Actions"};
-        Object[][] data = new Object[records.size()][6];
-        
-        for (int i = 0; i < records.size(); i++) {
-            DatabaseManager.TranslationRecord rec = records.get(i);
-            data[i][0] = rec.id;
-            data[i][1] = rec.createdAt.toString().substring(0, 19); // Format timestamp
-            data[i][2] = truncate(rec.englishText, 30);
-            data[i][3] = truncate(rec.translatedText, 30);
-            data[i][4] = rec.targetLanguage;
-            data[i][5] = "▶️ Play";
-        }
-        
-        JTable table = new JTable(data, columnNames) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return column == 5; // Only Actions column clickable
-            }
-        };
+        // Rows are fetched a page at a time in the background as the table scrolls
+        HistoryTableModel model = new HistoryTableModel(dbManager);
+        JTable table = new JTable(model);
         
         table.setFont(new Font("SansSerif", Font.PLAIN, 12));
         table.setRowHeight(30);
@@ -559,8 +798,10 @@ public class BilluUI {
                 int col = table.columnAtPoint(evt.getPoint());
                 
                 if (col == 5 && row >= 0) { // Actions column clicked
-                    DatabaseManager.TranslationRecord rec = records.get(row);
-                    playHistoryAudio(rec);
+                    TranslationRepository.TranslationRecord rec = model.getRecord(row);
+                    if (rec != null) {
+                        playHistoryAudio(rec);
+                    }
                 }
             }
         });
@@ -570,11 +811,84 @@ public class BilluUI {
         JPanel panel = new JPanel(new BorderLayout());
         panel.add(scrollPane, BorderLayout.CENTER);
         
-        JLabel infoLabel = new JLabel("Click ▶️ to play audio • Total: " + records.size() + " translations");
+        JLabel infoLabel = new JLabel("Loading history...");
         infoLabel.setFont(new Font("SansSerif", Font.ITALIC, 12));
         infoLabel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
         panel.add(infoLabel, BorderLayout.SOUTH);
         
+        // Search bar: text, language and date filters
+        JTextField searchField = new JTextField(24);
+        searchField.setFont(new Font("SansSerif", Font.PLAIN, 13));
+        JComboBox<Object> languageFilter = new JComboBox<>();
+        languageFilter.addItem("🌍 All languages");
+        for (int i = 0; i < languageDropdown.getItemCount(); i++) {
+            languageFilter.addItem(languageDropdown.getItemAt(i));
+        }
+        String[] periods = {"Any time", "Today", "Last 7 days", "Last 30 days"};
+        int[] periodDays = {-1, 0, 7, 30};
+        JComboBox<String> dateFilter = new JComboBox<>(periods);
+        
+        JPanel searchPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 8, 5));
+        searchPanel.add(new JLabel("🔍"));
+        searchPanel.add(searchField);
+        searchPanel.add(languageFilter);
+        searchPanel.add(dateFilter);
+        panel.add(searchPanel, BorderLayout.NORTH);
+        
+        java.util.function.IntConsumer showCount = total -> {
+            boolean filtered = !searchField.getText().isBlank()
+                || languageFilter.getSelectedIndex() > 0 || dateFilter.getSelectedIndex() > 0;
+            if (total < 0) {
+                infoLabel.setText("❌ Could not load history from the database");
+            } else if (total == 0) {
+                infoLabel.setText(filtered ? "No matching translations" : "No translations yet!");
+            } else {
+                infoLabel.setText("Click ▶️ to play audio • " + (filtered ? "Matches: " : "Total: ") + total + " translations");
+            }
+        };
+        
+        // Search as you type, once typing pauses
+        Timer searchDebounce = new Timer(EnvLoader.getInt("SEARCH_DEBOUNCE_MS", 250), e -> {
+            Object language = languageFilter.getSelectedItem();
+            String languageCode = language instanceof LanguageOption ? ((LanguageOption) language).code : null;
+            java.sql.Timestamp since = null;
+            int days = periodDays[dateFilter.getSelectedIndex()];
+            if (days >= 0) {
+                since = java.sql.Timestamp.valueOf(java.time.LocalDate.now().minusDays(days).atStartOfDay());
+            }
+            infoLabel.setText("Searching...");
+            model.search(searchField.getText(), languageCode, since, showCount);
+        });
+        searchDebounce.setRepeats(false);
+        searchField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
+            @Override
+            public void insertUpdate(javax.swing.event.DocumentEvent e) {
+                searchDebounce.restart();
+            }
+            
+            @Override
+            public void removeUpdate(javax.swing.event.DocumentEvent e) {
+                searchDebounce.restart();
+            }
+            
+            @Override
+            public void changedUpdate(javax.swing.event.DocumentEvent e) {
+                searchDebounce.restart();
+            }
+        });
+        languageFilter.addActionListener(e -> searchDebounce.restart());
+        dateFilter.addActionListener(e -> searchDebounce.restart());
+        
+        model.load(showCount);
+        
+        historyDialog.addWindowListener(new java.awt.event.WindowAdapter() {
+            @Override
+            public void windowClosed(java.awt.event.WindowEvent e) {
+                searchDebounce.stop();
+                model.dispose();
+            }
+        });
+        historyDialog.setDefaultCloseOperation(JDialog.DISPOSE_ON_CLOSE);
         historyDialog.add(panel);
         historyDialog.setVisible(true);
     }
@@ -582,7 +896,7 @@ public class BilluUI {
     /**
      * Play audio from history record
      */
-    private void playHistoryAudio(DatabaseManager.TranslationRecord record) {
+    private void playHistoryAudio(TranslationRepository.TranslationRecord record) {
         if (record.ttsFilePath == null || record.ttsFilePath.isEmpty()) {
             JOptionPane.showMessageDialog(frame, 
                 "No TTS audio available for this record", 
@@ -641,15 +955,6 @@ public class BilluUI {
         }
     }
     
-    /**
-     * Truncate text for display
-     */
-    private String truncate(String text, int maxLength) {
-        if (text == null) return "";
-        if (text.length() <= maxLength) return text;
-        return text.substring(0, maxLength) + "...";
-    }
-
     private void clearOutput() {
         outputArea.setText("");
     }
@@ -0,0 +1,206 @@
+package com.bhojpurri;
+
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Size-classed pool of direct ByteBuffers for the audio capture, upload and
+ * decode paths. Buffers are handed out as {@link Lease}s and go back to the
+ * pool when the last holder closes the lease, so continuous use stops
+ * allocating once the pool is warm.
+ * With BUFFER_POOL_DEBUG=true every lease remembers where it was taken, and
+ * leases that are garbage collected without being closed are reported.
+ */
+public class BufferPool {
+    private static final Logger logger = LoggerFactory.getLogger(BufferPool.class);
+
+    private static final int MIN_CLASS_SHIFT = 12;           // Smallest class: 4 KB
+    private static final int MAX_CLASS_SHIFT = 24;           // Largest class: 16 MB (bigger leases are not pooled)
+    private static final int DEFAULT_MAX_PER_CLASS = 4;      // Idle buffers kept per class
+    private static final int DEFAULT_MAX_POOLED_MB = 64;     // Idle bytes kept overall
+
+    private static final BufferPool SHARED = new BufferPool();
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    /**
+     * Holds one pooled buffer. Closing the last reference returns the buffer;
+     * using it afterwards is a bug.
+     */
+    public final class Lease implements AutoCloseable {
+        private final ByteBuffer buffer;
+        private final int sizeClass;
+        private final AtomicInteger refs = new AtomicInteger(1);
+        private final LeakState leakState;
+        private final Cleaner.Cleanable cleanable;
+
+        private Lease(ByteBuffer buffer, int sizeClass) {
+            this.buffer = buffer;
+            this.sizeClass = sizeClass;
+            if (debug) {
+                leakState = new LeakState(buffer.capacity(), new Throwable("Lease taken here"), leaks);
+                cleanable = CLEANER.register(this, leakState);
+            } else {
+                leakState = null;
+                cleanable = null;
+            }
+        }
+
+        /**
+         * Gets the buffer (position 0, limit = requested size).
+         */
+        public ByteBuffer buffer() {
+            return buffer;
+        }
+
+        /**
+         * Adds a holder; each call needs a matching {@link #close()}.
+         */
+        public Lease retain() {
+            if (refs.getAndIncrement() <= 0) {
+                throw new IllegalStateException("Lease already returned to the pool");
+            }
+            return this;
+        }
+
+        /**
+         * Drops one holder; the last one returns the buffer to the pool.
+         */
+        @Override
+        public void close() {
+            int left = refs.decrementAndGet();
+            if (left > 0) {
+                return;
+            }
+            if (left < 0) {
+                logger.error("Buffer lease closed twice", new IllegalStateException());
+                return;
+            }
+            if (leakState != null) {
+                leakState.returned.set(true);
+                cleanable.clean();
+            }
+            giveBack(buffer, sizeClass);
+        }
+    }
+
+    /**
+     * Leak report run by the Cleaner when an unreturned lease is collected.
+     * Must not reference the lease itself.
+     */
+    private static final class LeakState implements Runnable {
+        private final int capacity;
+        private final Throwable origin;
+        private final AtomicLong leakCounter;
+        private final AtomicBoolean returned = new AtomicBoolean();
+
+        LeakState(int capacity, Throwable origin, AtomicLong leakCounter) {
+            this.capacity = capacity;
+            this.origin = origin;
+            this.leakCounter = leakCounter;
+        }
+
+        @Override
+        public void run() {
+            if (!returned.get()) {
+                leakCounter.incrementAndGet();
+                logger.warn("⚠️ Leaked a {} byte buffer lease", capacity, origin);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private final ConcurrentLinkedDeque<ByteBuffer>[] classes =
+        (ConcurrentLinkedDeque<ByteBuffer>[]) new ConcurrentLinkedDeque<?>[MAX_CLASS_SHIFT + 1];
+    private final int maxPerClass;
+    private final long maxPooledBytes;
+    private final boolean debug;
+
+    private final AtomicLong pooledBytes = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong leaks = new AtomicLong();
+
+    public BufferPool() {
+        for (int shift = MIN_CLASS_SHIFT; shift <= MAX_CLASS_SHIFT; shift++) {
+            classes[shift] = new ConcurrentLinkedDeque<>();
+        }
+        this.maxPerClass = EnvLoader.getInt("BUFFER_POOL_MAX_PER_CLASS", DEFAULT_MAX_PER_CLASS);
+        this.maxPooledBytes = EnvLoader.getInt("BUFFER_POOL_MAX_MB", DEFAULT_MAX_POOLED_MB) * 1024L * 1024L;
+        this.debug = EnvLoader.getBoolean("BUFFER_POOL_DEBUG", false);
+    }
+
+    /**
+     * Gets the pool shared by the whole application.
+     */
+    public static BufferPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * Leases a direct buffer with room for at least {@code size} bytes.
+     * The buffer is cleared, with its limit set to {@code size}.
+     */
+    public Lease lease(int size) {
+        int shift = classFor(size);
+        ByteBuffer buffer = null;
+        if (shift <= MAX_CLASS_SHIFT) {
+            buffer = classes[shift].pollFirst();
+        }
+        if (buffer != null) {
+            pooledBytes.addAndGet(-buffer.capacity());
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            buffer = ByteBuffer.allocateDirect(shift <= MAX_CLASS_SHIFT ? 1 << shift : size);
+        }
+        buffer.clear().limit(size);
+        buffer.order(ByteOrder.BIG_ENDIAN); // Previous holders may have changed it
+        return new Lease(buffer, shift);
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Leases that were collected without being closed (debug mode only).
+     */
+    public long getLeaks() {
+        return leaks.get();
+    }
+
+    public long getPooledBytes() {
+        return pooledBytes.get();
+    }
+
+    private void giveBack(ByteBuffer buffer, int shift) {
+        if (shift > MAX_CLASS_SHIFT) {
+            return; // Oversized: let the GC have it
+        }
+        ConcurrentLinkedDeque<ByteBuffer> idle = classes[shift];
+        if (idle.size() >= maxPerClass || pooledBytes.get() + buffer.capacity() > maxPooledBytes) {
+            return;
+        }
+        pooledBytes.addAndGet(buffer.capacity());
+        idle.offerFirst(buffer); // LIFO keeps recently used (cache-warm) buffers in play
+    }
+
+    private static int classFor(int size) {
+        if (size <= 1 << MIN_CLASS_SHIFT) {
+            return MIN_CLASS_SHIFT;
+        }
+        return 32 - Integer.numberOfLeadingZeros(size - 1);
+    }
+}
@@ -0,0 +1,109 @@
+package com.bhojpurri;
+
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Flow;
+
+/**
+ * HTTP request body made of existing ByteBuffers.
+ * Sends the buffers one after another without first copying them into a
+ * single byte array (used for the multipart Whisper upload).
+ */
+public class ByteBufferBodyPublisher implements HttpRequest.BodyPublisher {
+    private final List<ByteBuffer> parts;
+    private final long contentLength;
+    private final Runnable onSent;
+
+    /**
+     * @param parts Buffers to send in order; each is read from its position to its limit
+     */
+    public ByteBufferBodyPublisher(List<ByteBuffer> parts) {
+        this(parts, null);
+    }
+
+    /**
+     * @param parts Buffers to send in order; each is read from its position to its limit
+     * @param onSent Called once the last buffer has been handed to the HTTP client (may be null)
+     */
+    public ByteBufferBodyPublisher(List<ByteBuffer> parts, Runnable onSent) {
+        this.parts = new ArrayList<>(parts);
+        this.onSent = onSent;
+        long length = 0;
+        for (ByteBuffer part : parts) {
+            length += part.remaining();
+        }
+        this.contentLength = length;
+    }
+
+    @Override
+    public long contentLength() {
+        return contentLength;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+        // Each subscription (e.g. a retry) gets fresh views of the same data
+        List<ByteBuffer> views = new ArrayList<>(parts.size());
+        for (ByteBuffer part : parts) {
+            views.add(part.asReadOnlyBuffer());
+        }
+        subscriber.onSubscribe(new PartsSubscription(subscriber, views.iterator(), onSent));
+    }
+
+    /**
+     * Emits the parts on demand. Re-entrant calls to request() from inside
+     * onNext only add demand, so the stack never grows with the part count.
+     */
+    private static class PartsSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super ByteBuffer> subscriber;
+        private final Iterator<ByteBuffer> remaining;
+        private final Runnable onSent;
+        private long demand = 0;
+        private boolean emitting = false;
+        private boolean finished = false;
+
+        PartsSubscription(Flow.Subscriber<? super ByteBuffer> subscriber, Iterator<ByteBuffer> remaining,
+                          Runnable onSent) {
+            this.subscriber = subscriber;
+            this.remaining = remaining;
+            this.onSent = onSent;
+        }
+
+        @Override
+        public synchronized void request(long n) {
+            if (finished) {
+                return;
+            }
+            if (n <= 0) {
+                finished = true;
+                subscriber.onError(new IllegalArgumentException("Non-positive request: " + n));
+                return;
+            }
+            demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+            if (emitting) {
+                return;
+            }
+            emitting = true;
+            while (demand > 0 && remaining.hasNext() && !finished) {
+                demand--;
+                subscriber.onNext(remaining.next());
+            }
+            if (!remaining.hasNext() && !finished) {
+                finished = true;
+                if (onSent != null) {
+                    onSent.run();
+                }
+                subscriber.onComplete();
+            }
+            emitting = false;
+        }
+
+        @Override
+        public synchronized void cancel() {
+            finished = true;
+        }
+    }
+}
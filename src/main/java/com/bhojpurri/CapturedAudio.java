@@ -0,0 +1,118 @@
+package com.bhojpurri;
+
+import java.nio.ByteBuffer;
+
+import javax.sound.sampled.AudioFormat;
+
+/**
+ * One finished recording held in memory.
+ * The PCM bytes can be handed straight to the upload stage without going
+ * through the archival WAV file on disk. When the bytes live in a pooled
+ * buffer, every holder calls {@link #release()} once it is done with them.
+ */
+public class CapturedAudio {
+    private final AudioFormat format;
+    private final ByteBuffer pcm;
+    private final String archivePath;
+    private final double trimmedSeconds;
+    private final BufferPool.Lease lease;  // null when the buffer is not pooled
+
+    /**
+     * @param format PCM format of the data
+     * @param pcm PCM bytes (position 0, limit = data length)
+     * @param archivePath Where the archival WAV is (or will be) written
+     */
+    public CapturedAudio(AudioFormat format, ByteBuffer pcm, String archivePath) {
+        this(format, pcm, archivePath, 0);
+    }
+
+    /**
+     * @param format PCM format of the data
+     * @param pcm PCM bytes (position 0, limit = data length)
+     * @param archivePath Where the archival WAV is (or will be) written
+     * @param trimmedSeconds Silence removed by voice activity detection
+     */
+    public CapturedAudio(AudioFormat format, ByteBuffer pcm, String archivePath, double trimmedSeconds) {
+        this.format = format;
+        this.pcm = pcm;
+        this.archivePath = archivePath;
+        this.trimmedSeconds = trimmedSeconds;
+        this.lease = null;
+    }
+
+    /**
+     * @param format PCM format of the data
+     * @param lease Pooled buffer holding the PCM bytes (position 0, limit = data length); now owned by this object
+     * @param archivePath Where the archival WAV is (or will be) written
+     * @param trimmedSeconds Silence removed by voice activity detection
+     */
+    public CapturedAudio(AudioFormat format, BufferPool.Lease lease, String archivePath, double trimmedSeconds) {
+        this.format = format;
+        this.pcm = lease.buffer();
+        this.archivePath = archivePath;
+        this.trimmedSeconds = trimmedSeconds;
+        this.lease = lease;
+    }
+
+    /**
+     * Adds a holder of the PCM bytes (e.g. the background WAV writer).
+     */
+    public CapturedAudio retain() {
+        if (lease != null) {
+            lease.retain();
+        }
+        return this;
+    }
+
+    /**
+     * Drops a holder; the last release returns the buffer to the pool.
+     */
+    public void release() {
+        if (lease != null) {
+            lease.close();
+        }
+    }
+
+    public AudioFormat getFormat() {
+        return format;
+    }
+
+    /**
+     * Gets a read-only view of the PCM bytes (independent position/limit).
+     */
+    public ByteBuffer getPcm() {
+        return pcm.asReadOnlyBuffer();
+    }
+
+    /**
+     * Number of PCM bytes (without WAV header).
+     */
+    public int getPcmLength() {
+        return pcm.limit();
+    }
+
+    /**
+     * Size the recording has as a WAV file (header + PCM).
+     */
+    public long getWavSize() {
+        return WavHeader.SIZE + (long) pcm.limit();
+    }
+
+    /**
+     * Duration of the recording in seconds.
+     */
+    public double getDurationSeconds() {
+        return pcm.limit() / (double) format.getFrameSize() / format.getFrameRate();
+    }
+
+    /**
+     * Seconds of silence removed before upload.
+     */
+    public double getTrimmedSeconds() {
+        return trimmedSeconds;
+    }
+
+    public String getArchivePath() {
+        return archivePath;
+    }
+}
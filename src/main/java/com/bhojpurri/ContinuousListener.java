@@ -0,0 +1,200 @@
+package com.bhojpurri;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hands-free mode: keeps the microphone open, segments the stream into
+ * utterances with {@link UtteranceSegmenter} and feeds them through a bounded
+ * queue to a worker that hands them to the {@link UtterancePipeline}.
+ * The capture thread never waits on the queue: when it is full (because the
+ * pipeline is) the oldest pending utterance is dropped.
+ */
+public class ContinuousListener {
+    private static final Logger logger = LoggerFactory.getLogger(ContinuousListener.class);
+
+    /**
+     * What to do with the microphone while the cat itself is talking
+     * (configured with HANDSFREE_OVERLAP_POLICY).
+     */
+    public enum OverlapPolicy {
+        MUTE_CAPTURE,  // Ignore the microphone during playback (no echo, no barge-in)
+        ECHO_GATE      // Keep listening but require speech to be well above the playback level
+    }
+
+    // Defaults (overridable through .env)
+    private static final int DEFAULT_QUEUE_SIZE = 3;
+    private static final int DEFAULT_ECHO_GATE_DB = 15;     // Extra threshold while the cat talks
+    private static final int DEFAULT_PLAYBACK_TAIL_MS = 300; // Room echo after playback stops
+
+    private final SpeechRecorder recorder;
+    private final Consumer<RecordingSessionManager.RecordingSession> processor;
+    private final OverlapPolicy overlapPolicy;
+    private final int echoGateDb;
+    private final int playbackTailMs;
+    private final BlockingQueue<RecordingSessionManager.RecordingSession> queue;
+
+    private UtteranceSegmenter segmenter;
+    private Thread worker;
+    private volatile boolean running = false;
+    private boolean wasMuted = false;
+
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * @param recorder Recorder that owns the microphone
+     * @param processor Starts the pipeline for one utterance (called on the worker thread; may
+     *                  wait for room) and completes its session once it is finished
+     */
+    public ContinuousListener(SpeechRecorder recorder,
+                              Consumer<RecordingSessionManager.RecordingSession> processor) {
+        this.recorder = recorder;
+        this.processor = processor;
+        this.overlapPolicy = parsePolicy(EnvLoader.get("HANDSFREE_OVERLAP_POLICY", "mute_capture"));
+        this.echoGateDb = EnvLoader.getInt("HANDSFREE_ECHO_GATE_DB", DEFAULT_ECHO_GATE_DB);
+        this.playbackTailMs = EnvLoader.getInt("HANDSFREE_PLAYBACK_TAIL_MS", DEFAULT_PLAYBACK_TAIL_MS);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, EnvLoader.getInt("HANDSFREE_QUEUE_SIZE", DEFAULT_QUEUE_SIZE)));
+    }
+
+    /**
+     * Opens the microphone and starts listening.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        segmenter = new UtteranceSegmenter(recorder.getCaptureFormat(), new VoiceActivityDetector(), this::onUtterance);
+        running = true;
+        worker = new Thread(this::workerLoop, "handsfree-worker");
+        worker.setDaemon(true);
+        worker.start();
+
+        recorder.setFrameListener(this::onFrames);
+        try {
+            recorder.openMicrophone();
+        } catch (RuntimeException e) {
+            stop();
+            throw e;
+        }
+        logger.info("🎧 Hands-free mode on (overlap policy {}, queue {})", overlapPolicy, queue.remainingCapacity());
+    }
+
+    /**
+     * Stops listening. Utterances still waiting in the queue are discarded;
+     * those already in the pipeline are allowed to finish.
+     */
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        recorder.setFrameListener(null);
+        if (!recorder.isAlwaysOpen()) {
+            recorder.close();
+        }
+
+        RecordingSessionManager.RecordingSession pending;
+        while ((pending = queue.poll()) != null) {
+            recorder.getSessionManager().complete(pending);
+        }
+        logger.info("🎧 Hands-free mode off ({} utterances queued, {} dropped)", queued.get(), dropped.get());
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public long getQueuedCount() {
+        return queued.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public OverlapPolicy getOverlapPolicy() {
+        return overlapPolicy;
+    }
+
+    /**
+     * Capture-thread callback: applies the overlap policy, then segments.
+     */
+    private void onFrames(byte[] pcm, int length) {
+        boolean catTalking = AudioPlayer.isAnyPlaybackActive()
+            || System.currentTimeMillis() - AudioPlayer.getLastPlaybackEndedAt() < playbackTailMs;
+
+        if (overlapPolicy == OverlapPolicy.MUTE_CAPTURE) {
+            if (catTalking) {
+                if (!wasMuted) {
+                    // Keep what was said before the cat started, drop everything after
+                    segmenter.finish();
+                    segmenter.reset();
+                    wasMuted = true;
+                }
+                return;
+            }
+            wasMuted = false;
+        } else {
+            segmenter.setExtraThresholdDb(catTalking ? echoGateDb : 0);
+        }
+        segmenter.process(pcm, length);
+    }
+
+    /**
+     * Capture-thread callback for a finished utterance. Never blocks.
+     */
+    private void onUtterance(BufferPool.Lease pcm) {
+        RecordingSessionManager.RecordingSession session = recorder.captureUtterance(pcm);
+        if (!running) {
+            recorder.getSessionManager().complete(session); // Raced with stop()
+            return;
+        }
+        queued.incrementAndGet();
+        while (!queue.offer(session)) {
+            // Full: the newest speech matters most, so give up on the oldest pending one
+            RecordingSessionManager.RecordingSession oldest = queue.poll();
+            if (oldest != null) {
+                dropped.incrementAndGet();
+                recorder.getSessionManager().complete(oldest);
+                logger.warn("Hands-free queue full - dropped {} ({} dropped so far)", oldest, dropped.get());
+            }
+        }
+    }
+
+    private void workerLoop() {
+        while (running) {
+            RecordingSessionManager.RecordingSession session;
+            try {
+                // Short poll so stop() is noticed without interrupting a request in progress
+                session = queue.poll(200, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                break;
+            }
+            if (session == null) {
+                continue;
+            }
+            try {
+                processor.accept(session);
+            } catch (RuntimeException e) {
+                logger.error("Hands-free processing failed for {}", session, e);
+                recorder.getSessionManager().complete(session);
+            }
+        }
+    }
+
+    private static OverlapPolicy parsePolicy(String value) {
+        try {
+            return OverlapPolicy.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Unknown HANDSFREE_OVERLAP_POLICY '{}' - using MUTE_CAPTURE", value);
+            return OverlapPolicy.MUTE_CAPTURE;
+        }
+    }
+}
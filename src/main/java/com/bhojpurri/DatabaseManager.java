@@ -10,174 +10,282 @@ import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.pool.HikariPool;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * DatabaseManager handles all MySQL database operations for storing
  * audio recordings, transcriptions, and translations.
+ * Connections come from a small pool, so the UI and background threads can
+ * query at the same time, and dropped connections are replaced transparently.
+ * This is the MySQL {@link TranslationRepository}; see also {@link EmbeddedTranslationRepository}.
  */
-public class DatabaseManager {
+public class DatabaseManager extends JdbcTranslationRepository {
     private static final Logger logger = LoggerFactory.getLogger(DatabaseManager.class);
     
-    // Database connection details
-    private static final String DB_URL = "jdbc:mysql://localhost:3306/";
+    // Database connection details (overridable through .env)
+    static final String DEFAULT_HOST = "localhost";
+    static final int DEFAULT_PORT = 3306;
     private static final String DB_NAME = "bhojpuri_billa";
-    private static final String DB_USER = "root";
-    private static final String DB_PASSWORD = "kali";
+    private static final int DEFAULT_CONNECT_TIMEOUT_MS = 3000;  // Fail fast when the server is down
+    private static final int ER_BAD_DB_ERROR = 1049;            // "Unknown database"
     // Connection parameters for proper UTF-8 support
     private static final String CONNECTION_PARAMS = "?useUnicode=true&characterEncoding=utf8&useSSL=false&allowPublicKeyRetrieval=true";
     
-    private Connection connection;
-
+    private final String dbUrl;
+    private final String dbUser;
+    private final String dbPassword;
+    private final int connectTimeoutMs;
+    
+    // Pool defaults (overridable through .env)
+    private static final int DEFAULT_POOL_SIZE = 4;               // UI reads + pipeline writes + archiver
+    private static final int DEFAULT_CONNECTION_TIMEOUT_MS = 5000; // Wait for a free connection
+    private static final int DEFAULT_MAX_LIFETIME_MS = 1800000;   // Retire well before MySQL's wait_timeout
+    private static final int DEFAULT_KEEPALIVE_MS = 300000;       // Ping idle connections so they are not dropped
+    private static final int DEFAULT_STATEMENT_CACHE_SIZE = 250;  // Prepared statements cached per connection
+    
     /**
      * Constructor - initializes database connection
      */
     public DatabaseManager() {
+        this.dbUrl = "jdbc:mysql://" + EnvLoader.get("DB_HOST", DEFAULT_HOST) + ":"
+            + EnvLoader.getInt("DB_PORT", DEFAULT_PORT) + "/";
+        this.dbUser = EnvLoader.get("DB_USER", "root");
+        this.dbPassword = EnvLoader.get("DB_PASSWORD", "kali");
+        this.connectTimeoutMs = EnvLoader.getInt("DB_CONNECT_TIMEOUT_MS", DEFAULT_CONNECT_TIMEOUT_MS);
         try {
             initializeDatabase();
             logger.info("✅ Database connection established successfully");
-        } catch (SQLException e) {
+        } catch (SQLException | HikariPool.PoolInitializationException e) {
             logger.error("❌ Failed to initialize database", e);
         }
     }
 
     /**
-     * Initialize database: create DB if not exists, then create tables
+     * Initialize database: pool connections, creating the database on first run,
+     * then apply any pending schema migrations
      */
     private void initializeDatabase() throws SQLException {
-        // First connect without specifying database to create it
-        try (Connection tempConn = DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
+        try {
+            dataSource = new HikariDataSource(createPoolConfig());
+        } catch (HikariPool.PoolInitializationException e) {
+            if (!isUnknownDatabase(e)) {
+                throw e;
+            }
+            createDatabase();
+            dataSource = new HikariDataSource(createPoolConfig());
+        }
+        logger.info("🔗 Connection pool '{}' started (max {} connections)",
+            dataSource.getPoolName(), dataSource.getMaximumPoolSize());
+        
+        try (Connection connection = getConnection()) {
+            int version = SchemaMigrator.migrate(connection, migrations());
+            logger.info("📋 Database schema at version {}", version);
+        }
+    }
+    
+    /**
+     * Create the database (first run only: connects without selecting a database)
+     */
+    private void createDatabase() throws SQLException {
+        try (Connection tempConn = DriverManager.getConnection(dbUrl + "?connectTimeout=" + connectTimeoutMs, dbUser, dbPassword);
              Statement stmt = tempConn.createStatement()) {
-            
-            // Create database if not exists
             String createDB = "CREATE DATABASE IF NOT EXISTS " + DB_NAME + 
                             " CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci";
             stmt.executeUpdate(createDB);
-            logger.info("📦 Database '{}' created/verified", DB_NAME);
+            logger.info("📦 Database '{}' created", DB_NAME);
+        }
+    }
+    
+    private static boolean isUnknownDatabase(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SQLException && ((SQLException) t).getErrorCode() == ER_BAD_DB_ERROR) {
+                return true;
+            }
         }
+        return false;
+    }
 
-        // Now connect to the specific database with UTF-8 parameters
-        connection = DriverManager.getConnection(DB_URL + DB_NAME + CONNECTION_PARAMS, DB_USER, DB_PASSWORD);
+    /**
+     * Pool settings: validated connections, automatic replacement of dropped ones
+     * and driver-side prepared statement caching.
+     */
+    private HikariConfig createPoolConfig() {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("bhojpurri-db");
+        config.setJdbcUrl(dbUrl + DB_NAME + CONNECTION_PARAMS + "&connectTimeout=" + connectTimeoutMs);
+        config.setUsername(dbUser);
+        config.setPassword(dbPassword);
         
-        // Set connection character set to utf8mb4
-        try (Statement stmt = connection.createStatement()) {
-            stmt.execute("SET NAMES 'utf8mb4'");
-            stmt.execute("SET CHARACTER SET utf8mb4");
-            stmt.execute("SET character_set_connection=utf8mb4");
-        }
+        int poolSize = Math.max(1, EnvLoader.getInt("DB_POOL_SIZE", DEFAULT_POOL_SIZE));
+        config.setMaximumPoolSize(poolSize);
+        config.setMinimumIdle(Math.min(poolSize, EnvLoader.getInt("DB_POOL_MIN_IDLE", 1)));
+        config.setConnectionTimeout(EnvLoader.getInt("DB_POOL_TIMEOUT_MS", DEFAULT_CONNECTION_TIMEOUT_MS));
+        config.setMaxLifetime(EnvLoader.getInt("DB_POOL_MAX_LIFETIME_MS", DEFAULT_MAX_LIFETIME_MS));
+        config.setKeepaliveTime(EnvLoader.getInt("DB_POOL_KEEPALIVE_MS", DEFAULT_KEEPALIVE_MS));
+        
+        // Every new connection talks utf8mb4 (emoji and Devanagari survive the round trip)
+        config.setConnectionInitSql("SET NAMES 'utf8mb4' COLLATE 'utf8mb4_unicode_ci'");
         
-        // Create tables
-        createTables();
+        // Connections are checked with isValid() when borrowed after sitting idle
+        config.setValidationTimeout(2000);
+        
+        // Cache prepared statements in the driver and on the server
+        config.addDataSourceProperty("cachePrepStmts", "true");
+        config.addDataSourceProperty("prepStmtCacheSize",
+            String.valueOf(EnvLoader.getInt("DB_STATEMENT_CACHE_SIZE", DEFAULT_STATEMENT_CACHE_SIZE)));
+        config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
+        config.addDataSourceProperty("useServerPrepStmts", "true");
+        config.addDataSourceProperty("useLocalSessionState", "true");
+        config.addDataSourceProperty("rewriteBatchedStatements", "true");
+        // Honour positive fetch sizes with a server-side cursor instead of buffering whole results
+        config.addDataSourceProperty("useCursorFetch", "true");
+        return config;
     }
 
     /**
-     * Create necessary tables if they don't exist
+     * Ordered schema migrations; append new ones at the end, never edit applied ones
      */
-    private void createTables() throws SQLException {
-        try (Statement stmt = connection.createStatement()) {
-            
-            // Main translations table
-            String createTranslationsTable = 
-                "CREATE TABLE IF NOT EXISTS translations (" +
-                "  id INT AUTO_INCREMENT PRIMARY KEY," +
-                "  audio_file_path VARCHAR(500) NOT NULL," +
-                "  audio_file_size BIGINT," +
-                "  english_text TEXT CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci," +
-                "  translated_text TEXT CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci," +
-                "  target_language VARCHAR(10) DEFAULT 'bho'," +
-                "  tts_file_path VARCHAR(500)," +
-                "  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
-                "  updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP," +
-                "  INDEX idx_created_at (created_at)," +
-                "  INDEX idx_audio_path (audio_file_path(255))," +
-                "  INDEX idx_language (target_language)" +
-                ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci";
-            
-            stmt.executeUpdate(createTranslationsTable);
-            logger.info("📋 Table 'translations' created/verified");
-            
-            // Migrate existing table - add missing columns if they don't exist
-            migrateTranslationsTable(stmt);
-            
-            // Stats table for tracking usage
-            String createStatsTable = 
-                "CREATE TABLE IF NOT EXISTS usage_stats (" +
-                "  id INT AUTO_INCREMENT PRIMARY KEY," +
-                "  date DATE NOT NULL," +
-                "  total_recordings INT DEFAULT 0," +
-                "  total_translations INT DEFAULT 0," +
-                "  total_audio_size BIGINT DEFAULT 0," +
-                "  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
-                "  updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP," +
-                "  UNIQUE KEY unique_date (date)" +
-                ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci";
-            
-            stmt.executeUpdate(createStatsTable);
-            logger.info("📊 Table 'usage_stats' created/verified");
-        }
+    private List<SchemaMigrator.Migration> migrations() {
+        return List.of(
+            SchemaMigrator.migration(1, "Create translations and usage_stats tables", stmt -> {
+                // IF NOT EXISTS: databases from before versioned migrations already have them
+                stmt.executeUpdate(
+                    "CREATE TABLE IF NOT EXISTS translations (" +
+                    "  id INT AUTO_INCREMENT PRIMARY KEY," +
+                    "  audio_file_path VARCHAR(500) NOT NULL," +
+                    "  audio_file_size BIGINT," +
+                    "  english_text TEXT CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci," +
+                    "  translated_text TEXT CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci," +
+                    "  target_language VARCHAR(10) DEFAULT 'bho'," +
+                    "  tts_file_path VARCHAR(500)," +
+                    "  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+                    "  updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP," +
+                    "  INDEX idx_created_at (created_at)," +
+                    "  INDEX idx_audio_path (audio_file_path(255))," +
+                    "  INDEX idx_language (target_language)" +
+                    ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci");
+                stmt.executeUpdate(
+                    "CREATE TABLE IF NOT EXISTS usage_stats (" +
+                    "  id INT AUTO_INCREMENT PRIMARY KEY," +
+                    "  date DATE NOT NULL," +
+                    "  total_recordings INT DEFAULT 0," +
+                    "  total_translations INT DEFAULT 0," +
+                    "  total_audio_size BIGINT DEFAULT 0," +
+                    "  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+                    "  updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP," +
+                    "  UNIQUE KEY unique_date (date)" +
+                    ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci");
+            }),
+            SchemaMigrator.migration(2, "Add translated_text and target_language columns", stmt -> {
+                if (!columnExists(stmt, "translated_text")) {
+                    stmt.executeUpdate(
+                        "ALTER TABLE translations ADD COLUMN translated_text " +
+                        "TEXT CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci AFTER english_text");
+                }
+                if (!columnExists(stmt, "target_language")) {
+                    stmt.executeUpdate(
+                        "ALTER TABLE translations ADD COLUMN target_language " +
+                        "VARCHAR(10) DEFAULT 'bho' AFTER translated_text");
+                }
+            }),
+            SchemaMigrator.migration(3, "Copy legacy bhojpuri_text into translated_text", stmt -> {
+                // Tables from the first version kept the translation in bhojpuri_text
+                if (columnExists(stmt, "bhojpuri_text")) {
+                    int copied = stmt.executeUpdate(
+                        "UPDATE translations SET translated_text = bhojpuri_text, target_language = 'bho' " +
+                        "WHERE translated_text IS NULL AND bhojpuri_text IS NOT NULL");
+                    logger.info("✅ Copied {} old 'bhojpuri_text' values into 'translated_text'", copied);
+                }
+            }),
+            SchemaMigrator.migration(4, "Add ngram full-text index for history search", stmt -> {
+                // The ngram parser also splits Devanagari and CJK text, which have no spaces for the default parser
+                if (!indexExists(stmt, "ft_translation_text")) {
+                    stmt.executeUpdate(
+                        "ALTER TABLE translations ADD FULLTEXT INDEX ft_translation_text " +
+                        "(english_text, translated_text) WITH PARSER ngram");
+                }
+            }),
+            SchemaMigrator.migration(5, "Add translation memory", stmt -> {
+                stmt.executeUpdate(
+                    "CREATE TABLE IF NOT EXISTS translation_memory (" +
+                    "  source_hash BINARY(32) NOT NULL PRIMARY KEY," +  // SHA-256 of (language, normalized English)
+                    "  target_language VARCHAR(10) NOT NULL," +
+                    "  source_text TEXT CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci," +
+                    "  translated_text TEXT CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci," +
+                    "  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+                    "  updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP" +
+                    ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci");
+                backfillTranslationMemory(stmt.getConnection());
+            }),
+            SchemaMigrator.migration(6, "Add per-stage latencies", stmt -> {
+                stmt.executeUpdate(
+                    "ALTER TABLE translations ADD COLUMN (" +
+                    "  record_ms INT, upload_ms INT, transcribe_ms INT, translate_ms INT," +
+                    "  synthesize_ms INT, play_ms INT, save_ms INT" +
+                    ")");
+                stmt.executeUpdate(
+                    "CREATE TABLE IF NOT EXISTS stage_latency_stats (" +
+                    "  stat_date DATE NOT NULL," +
+                    "  stage VARCHAR(16) NOT NULL," +
+                    "  target_language VARCHAR(10) NOT NULL," +
+                    "  samples INT NOT NULL," +
+                    "  p50_ms INT," +
+                    "  p95_ms INT," +
+                    "  p99_ms INT," +
+                    "  updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+                    "  PRIMARY KEY (stat_date, stage, target_language)" +
+                    ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci");
+            }),
+            SchemaMigrator.migration(7, "Re-key translation memory (questions kept apart)", stmt -> {
+                // Keys used to drop a final ? or !, so questions and statements shared entries
+                stmt.executeUpdate("DELETE FROM translation_memory");
+                backfillTranslationMemory(stmt.getConnection());
+            }),
+            SchemaMigrator.migration(8, "Index speech file paths", stmt -> {
+                // Lets the speech file sweep tell orphaned files from ones the history plays
+                stmt.executeUpdate("CREATE INDEX idx_tts_path ON translations (tts_file_path(255))");
+            })
+        );
     }
     
-    /**
-     * Migrate existing translations table to add missing columns
-     */
-    private void migrateTranslationsTable(Statement stmt) {
-        try {
-            // Check if translated_text column exists
-            ResultSet rs = stmt.executeQuery(
+    private static boolean columnExists(Statement stmt, String column) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery(
                 "SELECT COUNT(*) FROM information_schema.COLUMNS " +
-                "WHERE TABLE_SCHEMA = 'bhojpuri_billa' " +
+                "WHERE TABLE_SCHEMA = '" + DB_NAME + "' " +
                 "AND TABLE_NAME = 'translations' " +
-                "AND COLUMN_NAME = 'translated_text'"
-            );
-            
-            rs.next();
-            if (rs.getInt(1) == 0) {
-                // Column doesn't exist, add it
-                stmt.executeUpdate(
-                    "ALTER TABLE translations ADD COLUMN translated_text " +
-                    "TEXT CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci AFTER english_text"
-                );
-                logger.info("✅ Added 'translated_text' column to translations table");
-            }
-            rs.close();
-            
-            // Check if target_language column exists
-            rs = stmt.executeQuery(
-                "SELECT COUNT(*) FROM information_schema.COLUMNS " +
-                "WHERE TABLE_SCHEMA = 'bhojpuri_billa' " +
+                "AND COLUMN_NAME = '" + column + "'")) {
+            return rs.next() && rs.getInt(1) > 0;
+        }
+    }
+    
+    private static boolean indexExists(Statement stmt, String index) throws SQLException {
+        try (ResultSet rs = stmt.executeQuery(
+                "SELECT COUNT(*) FROM information_schema.STATISTICS " +
+                "WHERE TABLE_SCHEMA = '" + DB_NAME + "' " +
                 "AND TABLE_NAME = 'translations' " +
-                "AND COLUMN_NAME = 'target_language'"
-            );
-            
-            rs.next();
-            if (rs.getInt(1) == 0) {
-                // Column doesn't exist, add it
-                stmt.executeUpdate(
-                    "ALTER TABLE translations ADD COLUMN target_language " +
-                    "VARCHAR(10) DEFAULT 'bho' AFTER translated_text"
-                );
-                logger.info("✅ Added 'target_language' column to translations table");
-            }
-            rs.close();
-            
-        } catch (SQLException e) {
-            logger.warn("⚠️ Migration check failed (table might not exist yet): " + e.getMessage());
+                "AND INDEX_NAME = '" + index + "'")) {
+            return rs.next() && rs.getInt(1) > 0;
         }
     }
     
     /**
      * Clear all data from database tables (fresh start)
      */
+    @Override
     public void resetDatabase() {
-        try (Statement stmt = connection.createStatement()) {
-            // Delete all records
-            stmt.executeUpdate("DELETE FROM translations");
-            stmt.executeUpdate("DELETE FROM usage_stats");
-            
-            // Reset auto-increment counter to 1
-            stmt.executeUpdate("ALTER TABLE translations AUTO_INCREMENT = 1");
-            stmt.executeUpdate("ALTER TABLE usage_stats AUTO_INCREMENT = 1");
+        try (Connection connection = getConnection();
+             Statement stmt = connection.createStatement()) {
+            // TRUNCATE drops and recreates the table instead of deleting row by row,
+            // and also resets AUTO_INCREMENT to 1
+            stmt.executeUpdate("TRUNCATE TABLE translations");
+            stmt.executeUpdate("TRUNCATE TABLE usage_stats");
+            stmt.executeUpdate("TRUNCATE TABLE translation_memory");
+            stmt.executeUpdate("TRUNCATE TABLE stage_latency_stats");
             
             logger.info("🗑️ Database reset - all data cleared and IDs reset to 1");
             System.out.println("✅ Database reset successfully! IDs reset to 1.");
@@ -187,280 +295,135 @@ public class DatabaseManager {
         }
     }
     
-    /**
-     * Get all translation records ordered by newest first
-     */
-    public List<TranslationRecord> getAllTranslations() {
-        List<TranslationRecord> records = new ArrayList<>();
-        String sql = "SELECT id, audio_file_path, audio_file_size, english_text, " +
-                    "translated_text, target_language, tts_file_path, created_at " +
-                    "FROM translations ORDER BY created_at DESC";
-        
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            while (rs.next()) {
-                TranslationRecord record = new TranslationRecord();
-                record.id = rs.getInt("id");
-                record.audioFilePath = rs.getString("audio_file_path");
-                record.audioFileSize = rs.getLong("audio_file_size");
-                record.englishText = rs.getString("english_text");
-                record.translatedText = rs.getString("translated_text");
-                record.targetLanguage = rs.getString("target_language");
-                record.ttsFilePath = rs.getString("tts_file_path");
-                record.createdAt = rs.getTimestamp("created_at");
-                records.add(record);
-            }
-            
-            logger.info("📚 Retrieved {} translation records", records.size());
-            
-        } catch (SQLException e) {
-            logger.error("❌ Failed to retrieve translations", e);
-        }
-        
-        return records;
+    @Override
+    protected String memorizeSql() {
+        return "INSERT INTO translation_memory (source_hash, target_language, source_text, translated_text) " +
+               "VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE translated_text = VALUES(translated_text)";
     }
     
     /**
-     * Translation record data class
-     */
-    public static class TranslationRecord {
-        public int id;
-        public String audioFilePath;
-        public long audioFileSize;
-        public String englishText;
-        public String translatedText;
-        public String targetLanguage;
-        public String ttsFilePath;
-        public java.sql.Timestamp createdAt;
-    }
-
-    /**
-     * Save a complete translation record to database
-     * 
-     * @param audioPath Path to the recorded audio file
-     * @param audioSize Size of audio file in bytes
-     * @param englishText Transcribed English text
-     * @param translatedText Translated text in target language
-     * @param targetLanguage Target language code (e.g., "bho", "hi", "es")
-     * @param ttsPath Path to generated TTS audio file
-     * @return The ID of the inserted record, or -1 if failed
-     */
-    public int saveTranslation(String audioPath, long audioSize, String englishText, 
-                               String translatedText, String targetLanguage, String ttsPath) {
-        String sql = "INSERT INTO translations (audio_file_path, audio_file_size, " +
-                    "english_text, translated_text, target_language, tts_file_path) VALUES (?, ?, ?, ?, ?, ?)";
-        
-        try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            pstmt.setString(1, audioPath);
-            pstmt.setLong(2, audioSize);
-            pstmt.setString(3, englishText);
-            pstmt.setString(4, translatedText);
-            pstmt.setString(5, targetLanguage);
-            pstmt.setString(6, ttsPath);
-            
-            int affectedRows = pstmt.executeUpdate();
-            
-            if (affectedRows > 0) {
-                try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
-                    if (generatedKeys.next()) {
-                        int id = generatedKeys.getInt(1);
-                        logger.info("💾 Saved translation to database (ID: {}, Language: {})", id, targetLanguage);
-                        updateDailyStats(audioSize);
-                        return id;
-                    }
-                }
-            }
-        } catch (SQLException e) {
-            logger.error("❌ Failed to save translation to database", e);
-        }
-        return -1;
-    }
-
-    /**
-     * Save a complete translation record to database (backward compatibility - defaults to Bhojpuri)
-     * 
-     * @param audioPath Path to the recorded audio file
-     * @param audioSize Size of audio file in bytes
-     * @param englishText Transcribed English text
-     * @param translatedText Translated text
-     * @param ttsPath Path to generated TTS audio file
-     * @return The ID of the inserted record, or -1 if failed
-     */
-    public int saveTranslation(String audioPath, long audioSize, String englishText, 
-                               String translatedText, String ttsPath) {
-        return saveTranslation(audioPath, audioSize, englishText, translatedText, "bho", ttsPath);
-    }
-
-    /**
-     * Update daily usage statistics
+     * Update daily usage statistics (on the caller's connection, inside its transaction if any)
      */
-    private void updateDailyStats(long audioSize) {
+    @Override
+    protected void updateDailyStats(Connection connection, int count, long audioSize) throws SQLException {
         String sql = "INSERT INTO usage_stats (date, total_recordings, total_translations, total_audio_size) " +
-                    "VALUES (CURDATE(), 1, 1, ?) " +
+                    "VALUES (CURDATE(), ?, ?, ?) " +
                     "ON DUPLICATE KEY UPDATE " +
-                    "total_recordings = total_recordings + 1, " +
-                    "total_translations = total_translations + 1, " +
-                    "total_audio_size = total_audio_size + ?";
+                    "total_recordings = total_recordings + VALUES(total_recordings), " +
+                    "total_translations = total_translations + VALUES(total_translations), " +
+                    "total_audio_size = total_audio_size + VALUES(total_audio_size)";
         
         try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setLong(1, audioSize);
-            pstmt.setLong(2, audioSize);
+            pstmt.setInt(1, count);
+            pstmt.setInt(2, count);
+            pstmt.setLong(3, audioSize);
             pstmt.executeUpdate();
             logger.debug("📈 Daily stats updated");
-        } catch (SQLException e) {
-            logger.error("⚠️ Failed to update daily stats", e);
         }
     }
 
     /**
-     * Get total number of translations stored
-     */
-    public int getTotalTranslations() {
-        String sql = "SELECT COUNT(*) FROM translations";
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            if (rs.next()) {
-                return rs.getInt(1);
-            }
-        } catch (SQLException e) {
-            logger.error("Failed to get total translations", e);
-        }
-        return 0;
-    }
-
-    /**
-     * Get recent translations (last N records)
+     * Search the translation history.
+     * Words are matched through the ngram full-text index (all words must appear)
+     * and results are ranked by relevance; with no text, filtered history is
+     * returned newest first.
+     * 
+     * @param text Words to find in the English or translated text (blank for none)
+     * @param language Target language code to filter on, or null for all
+     * @param since Only records created at or after this time, or null
+     * @param offset Results to skip (for paging)
+     * @param limit Maximum number of results
      */
-    public void printRecentTranslations(int limit) {
-        String sql = "SELECT id, english_text, bhojpuri_text, created_at " +
-                    "FROM translations ORDER BY created_at DESC LIMIT ?";
+    @Override
+    public List<SearchResult> search(String text, String language, Timestamp since, int offset, int limit) throws SQLException {
+        String match = toBooleanQuery(text);
+        StringBuilder sql = new StringBuilder(
+            "SELECT id, audio_file_path, audio_file_size, english_text, " +
+            "translated_text, target_language, tts_file_path, created_at, ");
+        sql.append(match != null ? "MATCH(english_text, translated_text) AGAINST (? IN BOOLEAN MODE)" : "0");
+        sql.append(" AS score FROM translations");
+        appendSearchFilters(sql, match, language, since);
+        sql.append(match != null ? " ORDER BY score DESC, created_at DESC, id DESC" : " ORDER BY created_at DESC, id DESC");
+        sql.append(" LIMIT ? OFFSET ?");
         
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            pstmt.setInt(1, limit);
+        List<SearchResult> results = new ArrayList<>(limit);
+        try (Connection connection = getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql.toString())) {
+            int param = 1;
+            if (match != null) {
+                pstmt.setString(param++, match);
+            }
+            param = bindSearchFilters(pstmt, param, match, language, since);
+            pstmt.setInt(param++, limit);
+            pstmt.setInt(param, offset);
             try (ResultSet rs = pstmt.executeQuery()) {
-                System.out.println("\n📜 Recent Translations:");
-                System.out.println("━".repeat(80));
-                
                 while (rs.next()) {
-                    int id = rs.getInt("id");
-                    String english = rs.getString("english_text");
-                    String bhojpuri = rs.getString("bhojpuri_text");
-                    Timestamp created = rs.getTimestamp("created_at");
-                    
-                    System.out.println("ID: " + id + " | " + created);
-                    System.out.println("English: " + (english != null ? english : "N/A"));
-                    System.out.println("Bhojpuri: " + (bhojpuri != null ? bhojpuri : "N/A"));
-                    System.out.println("─".repeat(80));
+                    results.add(new SearchResult(readRecord(rs), rs.getDouble("score")));
                 }
             }
-        } catch (SQLException e) {
-            logger.error("Failed to fetch recent translations", e);
         }
+        return results;
     }
-
+    
     /**
-     * Get today's statistics
+     * Count the results {@link #search} would page through.
      */
-    public void printTodayStats() {
-        String sql = "SELECT total_recordings, total_translations, total_audio_size " +
-                    "FROM usage_stats WHERE date = CURDATE()";
+    @Override
+    public int countSearchResults(String text, String language, Timestamp since) throws SQLException {
+        String match = toBooleanQuery(text);
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM translations");
+        appendSearchFilters(sql, match, language, since);
         
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            
-            if (rs.next()) {
-                int recordings = rs.getInt("total_recordings");
-                int translations = rs.getInt("total_translations");
-                long audioSize = rs.getLong("total_audio_size");
-                
-                System.out.println("\n📊 Today's Stats:");
-                System.out.println("━".repeat(50));
-                System.out.println("🎙️  Recordings: " + recordings);
-                System.out.println("🔄 Translations: " + translations);
-                System.out.println("💾 Audio Data: " + formatBytes(audioSize));
-                System.out.println("━".repeat(50));
-            } else {
-                System.out.println("\n📊 No activity today yet.");
+        try (Connection connection = getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql.toString())) {
+            bindSearchFilters(pstmt, 1, match, language, since);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
             }
-        } catch (SQLException e) {
-            logger.error("Failed to fetch today's stats", e);
         }
     }
-
-    /**
-     * Format bytes to human-readable format
-     */
-    private String formatBytes(long bytes) {
-        if (bytes < 1024) return bytes + " B";
-        int exp = (int) (Math.log(bytes) / Math.log(1024));
-        String pre = "KMGTPE".charAt(exp - 1) + "";
-        return String.format("%.2f %sB", bytes / Math.pow(1024, exp), pre);
-    }
-
-    /**
-     * Search translations by English or Bhojpuri text
-     */
-    public void searchTranslations(String searchTerm) {
-        String sql = "SELECT id, english_text, bhojpuri_text, created_at " +
-                    "FROM translations " +
-                    "WHERE english_text LIKE ? OR bhojpuri_text LIKE ? " +
-                    "ORDER BY created_at DESC LIMIT 10";
-        
-        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-            String searchPattern = "%" + searchTerm + "%";
-            pstmt.setString(1, searchPattern);
-            pstmt.setString(2, searchPattern);
-            
-            try (ResultSet rs = pstmt.executeQuery()) {
-                System.out.println("\n🔍 Search Results for: '" + searchTerm + "'");
-                System.out.println("━".repeat(80));
-                
-                boolean found = false;
-                while (rs.next()) {
-                    found = true;
-                    int id = rs.getInt("id");
-                    String english = rs.getString("english_text");
-                    String bhojpuri = rs.getString("bhojpuri_text");
-                    Timestamp created = rs.getTimestamp("created_at");
-                    
-                    System.out.println("ID: " + id + " | " + created);
-                    System.out.println("English: " + english);
-                    System.out.println("Bhojpuri: " + bhojpuri);
-                    System.out.println("─".repeat(80));
-                }
-                
-                if (!found) {
-                    System.out.println("No results found.");
-                }
-            }
-        } catch (SQLException e) {
-            logger.error("Failed to search translations", e);
+    
+    private static void appendSearchFilters(StringBuilder sql, String match, String language, Timestamp since) {
+        String joiner = " WHERE ";
+        if (match != null) {
+            sql.append(joiner).append("MATCH(english_text, translated_text) AGAINST (? IN BOOLEAN MODE)");
+            joiner = " AND ";
+        }
+        if (language != null) {
+            sql.append(joiner).append("target_language = ?");
+            joiner = " AND ";
+        }
+        if (since != null) {
+            sql.append(joiner).append("created_at >= ?");
         }
     }
-
-    /**
-     * Close database connection
-     */
-    public void close() {
-        if (connection != null) {
-            try {
-                connection.close();
-                logger.info("🔌 Database connection closed");
-            } catch (SQLException e) {
-                logger.error("Failed to close database connection", e);
-            }
+    
+    private static int bindSearchFilters(PreparedStatement pstmt, int param, String match,
+                                         String language, Timestamp since) throws SQLException {
+        if (match != null) {
+            pstmt.setString(param++, match);
+        }
+        if (language != null) {
+            pstmt.setString(param++, language);
         }
+        if (since != null) {
+            pstmt.setTimestamp(param++, since);
+        }
+        return param;
     }
-
+    
     /**
-     * Test method to verify database connectivity
+     * Turn user input into a boolean-mode query where every word is a required phrase.
+     * Returns null when nothing searchable is left.
      */
-    public boolean testConnection() {
-        try {
-            return connection != null && !connection.isClosed();
-        } catch (SQLException e) {
-            return false;
+    private static String toBooleanQuery(String text) {
+        StringBuilder query = new StringBuilder();
+        for (String word : TranslationRepository.searchWords(text)) {
+            if (query.length() > 0) {
+                query.append(' ');
+            }
+            query.append("+\"").append(word).append('"');
         }
+        return query.length() > 0 ? query.toString() : null;
     }
 }
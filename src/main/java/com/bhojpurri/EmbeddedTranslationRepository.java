@@ -0,0 +1,257 @@
+package com.bhojpurri;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.pool.HikariPool;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Translation storage in an embedded H2 database file.
+ * Runs inside the app with no server to install or wait for, so single-user
+ * installs start instantly, and tests can point it at a throwaway directory.
+ * Search matches words as substrings (the data of one user is small enough).
+ */
+public class EmbeddedTranslationRepository extends JdbcTranslationRepository {
+    private static final Logger logger = LoggerFactory.getLogger(EmbeddedTranslationRepository.class);
+
+    private static final String DEFAULT_PATH = "data/bhojpurri";  // H2 adds .mv.db
+    private static final int POOL_SIZE = 4;
+
+    /**
+     * Opens (creating if needed) the database at EMBEDDED_DB_PATH.
+     */
+    public EmbeddedTranslationRepository() {
+        this(EnvLoader.get("EMBEDDED_DB_PATH", DEFAULT_PATH));
+    }
+
+    /**
+     * Opens (creating if needed) the database at the given path, without the .mv.db extension.
+     */
+    public EmbeddedTranslationRepository(String path) {
+        long start = System.currentTimeMillis();
+        try {
+            File parent = new File(path).getAbsoluteFile().getParentFile();
+            if (parent != null) {
+                parent.mkdirs();
+            }
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("bhojpurri-embedded");
+            config.setJdbcUrl("jdbc:h2:file:" + new File(path).getAbsolutePath());
+            config.setUsername("sa");
+            config.setPassword("");
+            config.setMaximumPoolSize(POOL_SIZE);
+            config.setMinimumIdle(1);
+            dataSource = new HikariDataSource(config);
+            try (Connection connection = getConnection()) {
+                SchemaMigrator.migrate(connection, migrations());
+            }
+            logger.info("✅ Embedded database ready: {}.mv.db ({} ms)", path, System.currentTimeMillis() - start);
+        } catch (SQLException | HikariPool.PoolInitializationException e) {
+            logger.error("❌ Failed to open embedded database {}", path, e);
+        }
+    }
+
+    /**
+     * Ordered schema migrations; append new ones at the end, never edit applied ones
+     */
+    private List<SchemaMigrator.Migration> migrations() {
+        return List.of(
+            SchemaMigrator.migration(1, "Create translations and usage_stats tables", stmt -> {
+                // IF NOT EXISTS: databases from before versioned migrations already have them
+                stmt.executeUpdate(
+                    "CREATE TABLE IF NOT EXISTS translations (" +
+                    "  id INT AUTO_INCREMENT PRIMARY KEY," +
+                    "  audio_file_path VARCHAR(500) NOT NULL," +
+                    "  audio_file_size BIGINT," +
+                    "  english_text CHARACTER VARYING," +
+                    "  translated_text CHARACTER VARYING," +
+                    "  target_language VARCHAR(10) DEFAULT 'bho'," +
+                    "  tts_file_path VARCHAR(500)," +
+                    "  created_at TIMESTAMP DEFAULT LOCALTIMESTAMP," +
+                    "  updated_at TIMESTAMP DEFAULT LOCALTIMESTAMP ON UPDATE LOCALTIMESTAMP" +
+                    ")");
+                stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_created_at ON translations (created_at, id)");
+                stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_audio_path ON translations (audio_file_path)");
+                stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_language ON translations (target_language)");
+
+                stmt.executeUpdate(
+                    "CREATE TABLE IF NOT EXISTS usage_stats (" +
+                    "  id INT AUTO_INCREMENT PRIMARY KEY," +
+                    "  \"DATE\" DATE NOT NULL UNIQUE," +
+                    "  total_recordings INT DEFAULT 0," +
+                    "  total_translations INT DEFAULT 0," +
+                    "  total_audio_size BIGINT DEFAULT 0," +
+                    "  created_at TIMESTAMP DEFAULT LOCALTIMESTAMP," +
+                    "  updated_at TIMESTAMP DEFAULT LOCALTIMESTAMP ON UPDATE LOCALTIMESTAMP" +
+                    ")");
+            }),
+            SchemaMigrator.migration(2, "Add translation memory", stmt -> {
+                stmt.executeUpdate(
+                    "CREATE TABLE IF NOT EXISTS translation_memory (" +
+                    "  source_hash BINARY(32) NOT NULL PRIMARY KEY," +  // SHA-256 of (language, normalized English)
+                    "  target_language VARCHAR(10) NOT NULL," +
+                    "  source_text CHARACTER VARYING," +
+                    "  translated_text CHARACTER VARYING," +
+                    "  created_at TIMESTAMP DEFAULT LOCALTIMESTAMP," +
+                    "  updated_at TIMESTAMP DEFAULT LOCALTIMESTAMP ON UPDATE LOCALTIMESTAMP" +
+                    ")");
+                backfillTranslationMemory(stmt.getConnection());
+            }),
+            SchemaMigrator.migration(3, "Add per-stage latencies", stmt -> {
+                stmt.executeUpdate(
+                    "ALTER TABLE translations ADD COLUMN (" +
+                    "  record_ms INT, upload_ms INT, transcribe_ms INT, translate_ms INT," +
+                    "  synthesize_ms INT, play_ms INT, save_ms INT" +
+                    ")");
+                stmt.executeUpdate(
+                    "CREATE TABLE IF NOT EXISTS stage_latency_stats (" +
+                    "  stat_date DATE NOT NULL," +
+                    "  stage VARCHAR(16) NOT NULL," +
+                    "  target_language VARCHAR(10) NOT NULL," +
+                    "  samples INT NOT NULL," +
+                    "  p50_ms INT," +
+                    "  p95_ms INT," +
+                    "  p99_ms INT," +
+                    "  updated_at TIMESTAMP DEFAULT LOCALTIMESTAMP," +
+                    "  PRIMARY KEY (stat_date, stage, target_language)" +
+                    ")");
+            }),
+            SchemaMigrator.migration(4, "Re-key translation memory (questions kept apart)", stmt -> {
+                // Keys used to drop a final ? or !, so questions and statements shared entries
+                stmt.executeUpdate("DELETE FROM translation_memory");
+                backfillTranslationMemory(stmt.getConnection());
+            }),
+            SchemaMigrator.migration(5, "Index speech file paths", stmt -> {
+                // Lets the speech file sweep tell orphaned files from ones the history plays
+                stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_tts_path ON translations (tts_file_path)");
+            })
+        );
+    }
+
+    @Override
+    protected String memorizeSql() {
+        return "MERGE INTO translation_memory (source_hash, target_language, source_text, translated_text) " +
+               "KEY (source_hash) VALUES (?, ?, ?, ?)";
+    }
+
+    @Override
+    protected void updateDailyStats(Connection connection, int count, long audioSize) throws SQLException {
+        String sql = "MERGE INTO usage_stats s " +
+                    "USING (VALUES (CURRENT_DATE, CAST(? AS INT), CAST(? AS BIGINT))) AS v(d, n, size) " +
+                    "ON s.\"DATE\" = v.d " +
+                    "WHEN MATCHED THEN UPDATE SET " +
+                    "  total_recordings = s.total_recordings + v.n, " +
+                    "  total_translations = s.total_translations + v.n, " +
+                    "  total_audio_size = s.total_audio_size + v.size " +
+                    "WHEN NOT MATCHED THEN INSERT (\"DATE\", total_recordings, total_translations, total_audio_size) " +
+                    "  VALUES (v.d, v.n, v.n, v.size)";
+
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setInt(1, count);
+            pstmt.setLong(2, audioSize);
+            pstmt.executeUpdate();
+            logger.debug("📈 Daily stats updated");
+        }
+    }
+
+    @Override
+    public void resetDatabase() {
+        try (Connection connection = getConnection();
+             Statement stmt = connection.createStatement()) {
+            // TRUNCATE ... RESTART IDENTITY also resets the IDs to 1
+            stmt.executeUpdate("TRUNCATE TABLE translations RESTART IDENTITY");
+            stmt.executeUpdate("TRUNCATE TABLE usage_stats RESTART IDENTITY");
+            stmt.executeUpdate("TRUNCATE TABLE translation_memory");
+            stmt.executeUpdate("TRUNCATE TABLE stage_latency_stats");
+
+            logger.info("🗑️ Database reset - all data cleared and IDs reset to 1");
+            System.out.println("✅ Database reset successfully! IDs reset to 1.");
+        } catch (SQLException e) {
+            logger.error("❌ Failed to reset database", e);
+            System.err.println("❌ Database reset failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public List<SearchResult> search(String text, String language, Timestamp since, int offset, int limit) throws SQLException {
+        List<String> words = TranslationRepository.searchWords(text);
+        StringBuilder sql = new StringBuilder(
+            "SELECT id, audio_file_path, audio_file_size, english_text, " +
+            "translated_text, target_language, tts_file_path, created_at FROM translations");
+        appendFilters(sql, words, language, since);
+        sql.append(" ORDER BY created_at DESC, id DESC LIMIT ? OFFSET ?");
+
+        List<SearchResult> results = new ArrayList<>(limit);
+        try (Connection connection = getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql.toString())) {
+            int param = bindFilters(pstmt, words, language, since);
+            pstmt.setInt(param++, limit);
+            pstmt.setInt(param, offset);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    results.add(new SearchResult(readRecord(rs), words.isEmpty() ? 0 : 1));
+                }
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public int countSearchResults(String text, String language, Timestamp since) throws SQLException {
+        List<String> words = TranslationRepository.searchWords(text);
+        StringBuilder sql = new StringBuilder("SELECT COUNT(*) FROM translations");
+        appendFilters(sql, words, language, since);
+
+        try (Connection connection = getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql.toString())) {
+            bindFilters(pstmt, words, language, since);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    private static void appendFilters(StringBuilder sql, List<String> words, String language, Timestamp since) {
+        String joiner = " WHERE ";
+        for (int i = 0; i < words.size(); i++) {
+            sql.append(joiner).append("(LOWER(english_text) LIKE ? OR LOWER(translated_text) LIKE ?)");
+            joiner = " AND ";
+        }
+        if (language != null) {
+            sql.append(joiner).append("target_language = ?");
+            joiner = " AND ";
+        }
+        if (since != null) {
+            sql.append(joiner).append("created_at >= ?");
+        }
+    }
+
+    private static int bindFilters(PreparedStatement pstmt, List<String> words,
+                                   String language, Timestamp since) throws SQLException {
+        int param = 1;
+        for (String word : words) {
+            String pattern = "%" + word.toLowerCase() + "%";
+            pstmt.setString(param++, pattern);
+            pstmt.setString(param++, pattern);
+        }
+        if (language != null) {
+            pstmt.setString(param++, language);
+        }
+        if (since != null) {
+            pstmt.setTimestamp(param++, since);
+        }
+        return param;
+    }
+}
@@ -117,6 +117,43 @@ public class EnvLoader {
         return (value != null && !value.isEmpty()) ? value : defaultValue;
     }
 
+    /**
+     * Gets an integer environment variable with a default fallback.
+     * 
+     * @param key The environment variable name
+     * @param defaultValue Default value if key is missing or not a number
+     * @return The parsed value, or defaultValue
+     */
+    public static int getInt(String key, int defaultValue) {
+        String value = get(key);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid integer for {}: {} - using default {}", key, value, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Gets a boolean environment variable with a default fallback.
+     * Accepts true/false, yes/no and 1/0.
+     * 
+     * @param key The environment variable name
+     * @param defaultValue Default value if key is missing
+     * @return The parsed value, or defaultValue
+     */
+    public static boolean getBoolean(String key, boolean defaultValue) {
+        String value = get(key);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        String v = value.trim().toLowerCase();
+        return v.equals("true") || v.equals("yes") || v.equals("1");
+    }
+
     /**
      * Checks if a key exists and has a non-empty value.
      * 
@@ -0,0 +1,81 @@
+package com.bhojpurri;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Retention policy for the translation history: keeps the current month plus
+ * the previous RETENTION_MONTHS - 1 months and purges whole older months once
+ * a day. Off by default (RETENTION_MONTHS=0 keeps everything).
+ * Daily usage and latency statistics are kept, so long-term trends survive.
+ */
+public class HistoryRetention implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(HistoryRetention.class);
+
+    private static final int INITIAL_DELAY_SECONDS = 60;  // Keep start-up free for the UI
+
+    private final TranslationRepository dbManager;
+    private final int retentionMonths;
+    private final ScheduledExecutorService scheduler;
+
+    public HistoryRetention(TranslationRepository dbManager) {
+        this.dbManager = dbManager;
+        this.retentionMonths = EnvLoader.getInt("RETENTION_MONTHS", 0);
+        if (retentionMonths <= 0) {
+            this.scheduler = null;
+            return;
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "history-retention");
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::runOnce,
+            INITIAL_DELAY_SECONDS, TimeUnit.DAYS.toSeconds(1), TimeUnit.SECONDS);
+        logger.info("🗓️ Keeping {} month(s) of translation history", retentionMonths);
+    }
+
+    /**
+     * Start of the oldest month that is kept.
+     */
+    public Timestamp getCutoff() {
+        LocalDate firstKept = LocalDate.now().withDayOfMonth(1).minusMonths(Math.max(0, retentionMonths - 1));
+        return Timestamp.valueOf(firstKept.atStartOfDay());
+    }
+
+    /**
+     * Purges every month older than the retention period.
+     *
+     * @return Number of records deleted, or -1 if the purge failed
+     */
+    public int runOnce() {
+        Timestamp cutoff = getCutoff();
+        long start = System.currentTimeMillis();
+        try {
+            int deleted = dbManager.purgeOlderThan(cutoff);
+            if (deleted > 0) {
+                logger.info("🗑️ Purged {} translations from before {} ({} ms)",
+                    deleted, cutoff.toLocalDateTime().toLocalDate(), System.currentTimeMillis() - start);
+            }
+            return deleted;
+        } catch (SQLException e) {
+            logger.warn("⚠️ Retention purge failed: {}", e.getMessage());
+            return -1;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.bhojpurri;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntConsumer;
+
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Lazy table model for the history dialog.
+ * Opening it only scans the (created_at, id) keys to learn the row count and
+ * where each page starts; rows are then fetched a page at a time with keyset
+ * queries on a background thread as the table asks for them. Only the most
+ * recently viewed pages are kept.
+ * In search mode the rows are ranked full-text matches, paged by offset.
+ */
+public class HistoryTableModel extends AbstractTableModel {
+    private static final Logger logger = LoggerFactory.getLogger(HistoryTableModel.class);
+
+    private static final int DEFAULT_PAGE_SIZE = 100;    // Rows fetched per query
+    private static final int DEFAULT_CACHED_PAGES = 4;   // Pages kept in memory (about a screenful or two)
+    private static final String LOADING = "…";
+
+    private static final String[] COLUMN_NAMES = {"ID", "Date/Time", "English", "Translation", "Language", "Actions"};
+
+    private final TranslationRepository dbManager;
+    private final int pageSize;
+    private final Map<Integer, List<TranslationRepository.TranslationRecord>> pages;
+    private final Set<Integer> pagesLoading = new HashSet<>();
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "history-loader");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * What the table is showing in search mode.
+     */
+    private static final class SearchCriteria {
+        final String text;
+        final String language;
+        final Timestamp since;
+
+        SearchCriteria(String text, String language, Timestamp since) {
+            this.text = text;
+            this.language = language;
+            this.since = since;
+        }
+    }
+
+    // Written on the EDT once a key scan or search count finishes
+    private List<TranslationRepository.HistoryKey> pageStarts = new ArrayList<>();
+    private SearchCriteria criteria;   // null while browsing the full history
+    private int rowCount = 0;
+    private volatile int generation = 0; // Bumped per load/search so stale results are ignored
+
+    public HistoryTableModel(TranslationRepository dbManager) {
+        this.dbManager = dbManager;
+        this.pageSize = Math.max(1, EnvLoader.getInt("HISTORY_PAGE_SIZE", DEFAULT_PAGE_SIZE));
+        int cachedPages = Math.max(1, EnvLoader.getInt("HISTORY_CACHED_PAGES", DEFAULT_CACHED_PAGES));
+        // Access-ordered, so the least recently painted page is dropped first
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<TranslationRepository.TranslationRecord>> eldest) {
+                return size() > cachedPages;
+            }
+        };
+    }
+
+    /**
+     * Scans the history keys in the background, then shows the rows.
+     *
+     * @param onLoaded Called on the EDT with the row count (-1 if the scan failed)
+     */
+    public void load(IntConsumer onLoaded) {
+        int gen = ++generation;
+        loader.execute(() -> {
+            if (gen != generation) {
+                return; // Superseded before it started
+            }
+            List<TranslationRepository.HistoryKey> starts = new ArrayList<>();
+            try {
+                long start = System.currentTimeMillis();
+                int rows = dbManager.scanHistoryPages(pageSize, starts);
+                logger.info("📚 History has {} records in {} pages (scanned in {} ms)",
+                    rows, starts.size(), System.currentTimeMillis() - start);
+                SwingUtilities.invokeLater(() -> show(gen, starts, null, rows, onLoaded));
+            } catch (SQLException e) {
+                logger.error("❌ Failed to scan translation history", e);
+                SwingUtilities.invokeLater(() -> onLoaded.accept(-1));
+            }
+        });
+    }
+
+    /**
+     * Switches to ranked search results; with no text and no filters this is
+     * the same as {@link #load}. Call on the EDT.
+     *
+     * @param text Words to search for (may be blank)
+     * @param language Target language code, or null for all
+     * @param since Earliest creation time, or null
+     * @param onLoaded Called on the EDT with the result count (-1 if the search failed)
+     */
+    public void search(String text, String language, Timestamp since, IntConsumer onLoaded) {
+        if (TranslationRepository.searchWords(text).isEmpty() && language == null && since == null) {
+            load(onLoaded);
+            return;
+        }
+        SearchCriteria search = new SearchCriteria(text, language, since);
+        int gen = ++generation;
+        loader.execute(() -> {
+            if (gen != generation) {
+                return; // The user kept typing
+            }
+            try {
+                int rows = dbManager.countSearchResults(search.text, search.language, search.since);
+                logger.debug("🔍 Search '{}' matched {} records", search.text, rows);
+                SwingUtilities.invokeLater(() -> show(gen, null, search, rows, onLoaded));
+            } catch (SQLException e) {
+                logger.error("❌ History search failed", e);
+                SwingUtilities.invokeLater(() -> onLoaded.accept(-1));
+            }
+        });
+    }
+
+    private void show(int gen, List<TranslationRepository.HistoryKey> starts, SearchCriteria search,
+                      int rows, IntConsumer onLoaded) {
+        if (gen != generation) {
+            return;
+        }
+        pageStarts = starts;
+        criteria = search;
+        rowCount = rows;
+        pages.clear();
+        pagesLoading.clear();
+        fireTableDataChanged();
+        onLoaded.accept(rows);
+    }
+
+    /**
+     * Gets the record shown in a row, or null if its page is not loaded yet.
+     */
+    public TranslationRepository.TranslationRecord getRecord(int row) {
+        List<TranslationRepository.TranslationRecord> page = pageFor(row);
+        int index = row % pageSize;
+        return page != null && index < page.size() ? page.get(index) : null;
+    }
+
+    /**
+     * Stops the background loader (call when the dialog closes).
+     */
+    public void dispose() {
+        loader.shutdownNow();
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false; // The Actions column reacts to clicks, not edits
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        TranslationRepository.TranslationRecord rec = getRecord(row);
+        if (rec == null) {
+            return column == 0 ? "" : LOADING;
+        }
+        switch (column) {
+            case 0: return rec.id;
+            case 1: return rec.createdAt.toString().substring(0, 19); // Format timestamp
+            case 2: return truncate(rec.englishText, 30);
+            case 3: return truncate(rec.translatedText, 30);
+            case 4: return rec.targetLanguage;
+            default: return "▶️ Play";
+        }
+    }
+
+    /**
+     * Returns the cached page for a row, queueing a fetch if it is missing (EDT only).
+     */
+    private List<TranslationRepository.TranslationRecord> pageFor(int row) {
+        int pageIndex = row / pageSize;
+        List<TranslationRepository.TranslationRecord> page = pages.get(pageIndex);
+        if (page == null && pageIndex * pageSize < rowCount && pagesLoading.add(pageIndex)) {
+            fetchPage(pageIndex);
+        }
+        return page;
+    }
+
+    private void fetchPage(int pageIndex) {
+        int gen = generation;
+        SearchCriteria search = criteria;
+        TranslationRepository.HistoryKey from = search == null ? pageStarts.get(pageIndex) : null;
+        loader.execute(() -> {
+            if (gen != generation) {
+                return;
+            }
+            List<TranslationRepository.TranslationRecord> page;
+            try {
+                if (search == null) {
+                    page = dbManager.getTranslationsPage(from, pageSize);
+                } else {
+                    page = new ArrayList<>(pageSize);
+                    for (TranslationRepository.SearchResult result : dbManager.search(
+                            search.text, search.language, search.since, pageIndex * pageSize, pageSize)) {
+                        page.add(result.record);
+                    }
+                }
+            } catch (SQLException e) {
+                logger.error("❌ Failed to load history page {}", pageIndex, e);
+                page = null;
+            }
+            final List<TranslationRepository.TranslationRecord> loaded = page;
+            SwingUtilities.invokeLater(() -> {
+                if (gen != generation) {
+                    return; // A new search replaced the rows
+                }
+                pagesLoading.remove(pageIndex);
+                if (loaded == null) {
+                    return; // Left as loading; scrolling back retries
+                }
+                pages.put(pageIndex, loaded);
+                int first = pageIndex * pageSize;
+                fireTableRowsUpdated(first, Math.min(rowCount, first + pageSize) - 1);
+            });
+        });
+    }
+
+    /**
+     * Truncate text for display
+     */
+    private static String truncate(String text, int maxLength) {
+        if (text == null) return "";
+        if (text.length() <= maxLength) return text;
+        return text.substring(0, maxLength) + "...";
+    }
+}
@@ -0,0 +1,338 @@
+package com.bhojpurri;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Exports the translation history to JSON Lines or CSV and imports it back.
+ * Export streams rows straight from the database to the file, and import
+ * reads the file a record at a time and inserts it in chunked transactions,
+ * so memory use stays the same whatever the size of the history.
+ * The format follows the file extension (.jsonl or .csv).
+ *
+ * Usage: {@code mvn exec:java -Dexec.mainClass="com.bhojpurri.HistoryTransfer" -Dexec.args="export history.jsonl"}
+ */
+public class HistoryTransfer {
+    private static final Logger logger = LoggerFactory.getLogger(HistoryTransfer.class);
+
+    private static final int DEFAULT_IMPORT_CHUNK = 500;   // Records per import transaction
+    private static final int PROGRESS_EVERY = 10_000;      // Rows between progress log lines
+
+    // Field order of both formats; IDs are exported for reference but new ones are assigned on import
+    private static final String[] FIXED_FIELDS = {
+        "id", "created_at", "audio_file_path", "audio_file_size", "english_text",
+        "translated_text", "target_language", "tts_file_path"
+    };
+
+    public enum Format {
+        JSONL, CSV;
+
+        static Format of(Path file) {
+            String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+            if (name.endsWith(".csv")) {
+                return CSV;
+            }
+            if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+                return JSONL;
+            }
+            throw new IllegalArgumentException("Unknown export format (use .jsonl or .csv): " + file);
+        }
+    }
+
+    private final TranslationRepository dbManager;
+    private final int importChunk;
+
+    public HistoryTransfer(TranslationRepository dbManager) {
+        this.dbManager = dbManager;
+        this.importChunk = Math.max(1, EnvLoader.getInt("IMPORT_CHUNK_SIZE", DEFAULT_IMPORT_CHUNK));
+    }
+
+    /**
+     * Writes every translation to the file (oldest first).
+     *
+     * @return Number of records written
+     */
+    public int export(Path file) throws IOException, SQLException {
+        Format format = Format.of(file);
+        long start = System.nanoTime();
+        int rows;
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            if (format == Format.CSV) {
+                writeCsvRow(out, header());
+            }
+            int[] written = {0};
+            rows = dbManager.streamTranslations(record -> {
+                if (format == Format.CSV) {
+                    writeCsvRow(out, toFields(record));
+                } else {
+                    out.write(toJson(record).toString());
+                    out.write('\n');
+                }
+                if (++written[0] % PROGRESS_EVERY == 0) {
+                    logProgress("Exported", written[0], start);
+                }
+            });
+        }
+        report("📤 Exported", rows, start, file);
+        return rows;
+    }
+
+    /**
+     * Reads translations from the file and inserts them in chunked transactions.
+     *
+     * @return Number of records imported
+     */
+    public int importFrom(Path file) throws IOException, SQLException {
+        Format format = Format.of(file);
+        long start = System.nanoTime();
+        int rows = 0;
+        List<TranslationRepository.TranslationRecord> chunk = new ArrayList<>(importChunk);
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String[] columns = format == Format.CSV ? readCsvRow(in) : null;
+            int line = format == Format.CSV ? 1 : 0;
+            while (true) {
+                TranslationRepository.TranslationRecord record;
+                line++;
+                try {
+                    if (format == Format.CSV) {
+                        String[] fields = readCsvRow(in);
+                        if (fields == null) {
+                            break;
+                        }
+                        record = fromFields(columns, fields);
+                    } else {
+                        String json = in.readLine();
+                        if (json == null) {
+                            break;
+                        }
+                        if (json.isBlank()) {
+                            continue;
+                        }
+                        record = fromJson(new JSONObject(json));
+                    }
+                } catch (JSONException | IllegalArgumentException e) {
+                    throw new IOException("Bad record at line " + line + " of " + file + ": " + e.getMessage(), e);
+                }
+                chunk.add(record);
+                if (chunk.size() == importChunk) {
+                    dbManager.importTranslations(chunk);
+                    rows += chunk.size();
+                    chunk.clear();
+                    if (rows % PROGRESS_EVERY < importChunk) {
+                        logProgress("Imported", rows, start);
+                    }
+                }
+            }
+        }
+        dbManager.importTranslations(chunk);
+        rows += chunk.size();
+        report("📥 Imported", rows, start, file);
+        return rows;
+    }
+
+    private static void logProgress(String action, int rows, long startNanos) {
+        logger.info("{} {} records ({} rows/s)", action, rows, rowsPerSecond(rows, startNanos));
+    }
+
+    private static void report(String action, int rows, long startNanos, Path file) {
+        long ms = (System.nanoTime() - startNanos) / 1_000_000;
+        logger.info("{} {} records in {} ms ({} rows/s): {}", action, rows, ms, rowsPerSecond(rows, startNanos), file);
+        System.out.println(action + " " + rows + " records in " + ms + " ms ("
+            + rowsPerSecond(rows, startNanos) + " rows/s)");
+    }
+
+    private static long rowsPerSecond(int rows, long startNanos) {
+        long nanos = Math.max(1, System.nanoTime() - startNanos);
+        return rows * 1_000_000_000L / nanos;
+    }
+
+    // --- Record conversion ---
+
+    private static String[] header() {
+        List<String> names = new ArrayList<>(List.of(FIXED_FIELDS));
+        for (StageTimings.Stage stage : StageTimings.Stage.values()) {
+            names.add(stage.column());
+        }
+        return names.toArray(new String[0]);
+    }
+
+    private static String[] toFields(TranslationRepository.TranslationRecord record) {
+        String[] fields = new String[FIXED_FIELDS.length + StageTimings.Stage.values().length];
+        fields[0] = String.valueOf(record.id);
+        fields[1] = record.createdAt != null ? record.createdAt.toString() : null;
+        fields[2] = record.audioFilePath;
+        fields[3] = String.valueOf(record.audioFileSize);
+        fields[4] = record.englishText;
+        fields[5] = record.translatedText;
+        fields[6] = record.targetLanguage;
+        fields[7] = record.ttsFilePath;
+        for (StageTimings.Stage stage : StageTimings.Stage.values()) {
+            Integer ms = record.timings != null ? record.timings.get(stage) : null;
+            fields[FIXED_FIELDS.length + stage.ordinal()] = ms != null ? ms.toString() : null;
+        }
+        return fields;
+    }
+
+    private static TranslationRepository.TranslationRecord fromFields(String[] columns, String[] fields) {
+        if (columns == null) {
+            throw new IllegalArgumentException("CSV file has no header row");
+        }
+        JSONObject json = new JSONObject();
+        for (int i = 0; i < columns.length && i < fields.length; i++) {
+            json.put(columns[i], fields[i]); // A null value leaves the key out
+        }
+        return fromJson(json);
+    }
+
+    private static JSONObject toJson(TranslationRepository.TranslationRecord record) {
+        String[] names = header();
+        String[] fields = toFields(record);
+        JSONObject json = new JSONObject();
+        for (int i = 0; i < names.length; i++) {
+            if (fields[i] == null) {
+                continue;
+            }
+            boolean numeric = i == 0 || i == 3 || i >= FIXED_FIELDS.length;
+            json.put(names[i], numeric ? Long.parseLong(fields[i]) : fields[i]);
+        }
+        return json;
+    }
+
+    private static TranslationRepository.TranslationRecord fromJson(JSONObject json) {
+        TranslationRepository.TranslationRecord record = new TranslationRepository.TranslationRecord();
+        record.createdAt = json.has("created_at") ? Timestamp.valueOf(json.getString("created_at")) : null;
+        record.audioFilePath = json.optString("audio_file_path", null);
+        record.audioFileSize = json.has("audio_file_size") ? Long.parseLong(json.get("audio_file_size").toString()) : 0;
+        record.englishText = json.optString("english_text", null);
+        record.translatedText = json.optString("translated_text", null);
+        record.targetLanguage = json.optString("target_language", "bho");
+        record.ttsFilePath = json.optString("tts_file_path", null);
+        if (record.audioFilePath == null) {
+            throw new IllegalArgumentException("audio_file_path is missing");
+        }
+        record.timings = new StageTimings();
+        for (StageTimings.Stage stage : StageTimings.Stage.values()) {
+            if (json.has(stage.column())) {
+                record.timings.set(stage, Long.parseLong(json.get(stage.column()).toString()));
+            }
+        }
+        return record;
+    }
+
+    // --- CSV (RFC 4180: quoted fields may hold commas, quotes and line breaks) ---
+
+    /**
+     * Writes one row. Null is written as an empty field and the empty string as "".
+     */
+    private static void writeCsvRow(Writer out, String[] fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            String field = fields[i];
+            if (field == null) {
+                continue;
+            }
+            if (field.isEmpty() || field.indexOf(',') >= 0 || field.indexOf('"') >= 0
+                    || field.indexOf('\n') >= 0 || field.indexOf('\r') >= 0) {
+                out.write('"');
+                out.write(field.replace("\"", "\"\""));
+                out.write('"');
+            } else {
+                out.write(field);
+            }
+        }
+        out.write("\r\n");
+    }
+
+    /**
+     * Reads one row, or returns null at the end of the file. Unquoted empty fields are null.
+     */
+    private static String[] readCsvRow(BufferedReader in) throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;      // Inside quotes
+        boolean wasQuoted = false;   // Current field started with a quote
+        int c = in.read();
+        if (c < 0) {
+            return null;
+        }
+        while (true) {
+            if (quoted) {
+                if (c < 0) {
+                    throw new IOException("Unterminated quoted CSV field");
+                }
+                if (c == '"') {
+                    in.mark(1);
+                    int next = in.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        in.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0 && !wasQuoted) {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == ',' || c == '\n' || c == '\r' || c < 0) {
+                fields.add(field.length() > 0 || wasQuoted ? field.toString() : null);
+                field.setLength(0);
+                wasQuoted = false;
+                if (c == '\r') {
+                    in.mark(1);
+                    if (in.read() != '\n') {
+                        in.reset();
+                    }
+                }
+                if (c != ',') {
+                    return fields.toArray(new String[0]);
+                }
+            } else {
+                field.append((char) c);
+            }
+            c = in.read();
+        }
+    }
+
+    /**
+     * Command-line entry point: {@code export <file>} or {@code import <file>}.
+     */
+    public static void main(String[] args) {
+        if (args.length != 2 || !(args[0].equals("export") || args[0].equals("import"))) {
+            System.out.println("Usage: HistoryTransfer export|import <file.jsonl|file.csv>");
+            return;
+        }
+        EnvLoader.load();
+        Path file = Paths.get(args[1]);
+        try (TranslationRepository dbManager = TranslationRepository.open()) {
+            HistoryTransfer transfer = new HistoryTransfer(dbManager);
+            if (args[0].equals("export")) {
+                transfer.export(file);
+            } else {
+                transfer.importFrom(file);
+            }
+        } catch (IOException | SQLException | IllegalArgumentException e) {
+            logger.error("❌ History {} failed", args[0], e);
+            System.err.println("❌ " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,870 @@
+package com.bhojpurri;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shared JDBC implementation of {@link TranslationRepository}.
+ * Subclasses open the pooled {@link #dataSource}, create the schema and supply
+ * the statements that differ between databases (stats upsert, search, reset).
+ */
+public abstract class JdbcTranslationRepository implements TranslationRepository {
+    private static final Logger logger = LoggerFactory.getLogger(JdbcTranslationRepository.class);
+    
+    protected HikariDataSource dataSource;
+
+    // Stages known when a record is inserted; SAVE is only known after the commit
+    private static final StageTimings.Stage[] INSERT_STAGES = {
+        StageTimings.Stage.RECORD, StageTimings.Stage.UPLOAD, StageTimings.Stage.TRANSCRIBE,
+        StageTimings.Stage.TRANSLATE, StageTimings.Stage.SYNTHESIZE, StageTimings.Stage.PLAY
+    };
+    private static final int[] PERCENTILES = {50, 95, 99};
+    private static final int EXPORT_FETCH_SIZE = 200;  // Full rows carry text, so fewer per round trip
+    private static final int PURGE_BATCH_SIZE = 1000;  // Rows per purge transaction, so locks stay short
+
+    /**
+     * Add a batch of recordings to today's usage statistics (on the caller's
+     * connection, inside its transaction if any)
+     */
+    protected abstract void updateDailyStats(Connection connection, int count, long audioSize) throws SQLException;
+
+    /**
+     * Insert-or-replace statement for translation_memory with the parameters
+     * (source_hash, target_language, source_text, translated_text)
+     */
+    protected abstract String memorizeSql();
+
+    /**
+     * Fetch size that makes the driver stream a large result instead of buffering it
+     */
+    protected int streamingFetchSize() {
+        return 1000;
+    }
+
+    /**
+     * Borrows a connection from the pool; close it to give it back.
+     */
+    protected Connection getConnection() throws SQLException {
+        if (dataSource == null) {
+            throw new SQLException("Database is not available");
+        }
+        return dataSource.getConnection();
+    }
+
+    /**
+     * Get all translation records ordered by newest first
+     */
+    @Override
+    public List<TranslationRecord> getAllTranslations() {
+        List<TranslationRecord> records = new ArrayList<>();
+        String sql = "SELECT id, audio_file_path, audio_file_size, english_text, " +
+                    "translated_text, target_language, tts_file_path, created_at " +
+                    "FROM translations ORDER BY created_at DESC";
+        
+        try (Connection connection = getConnection();
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            
+            while (rs.next()) {
+                records.add(readRecord(rs));
+            }
+            
+            logger.info("📚 Retrieved {} translation records", records.size());
+            
+        } catch (SQLException e) {
+            logger.error("❌ Failed to retrieve translations", e);
+        }
+        
+        return records;
+    }
+    
+    /**
+     * Scan the history keys (newest first) and note where each page starts.
+     * Only the (created_at, id) index is read, so this stays cheap on large tables.
+     * 
+     * @param pageSize Rows per page
+     * @param pageStarts Receives the key of the first row of every page
+     * @return Total number of rows scanned
+     */
+    @Override
+    public int scanHistoryPages(int pageSize, List<HistoryKey> pageStarts) throws SQLException {
+        String sql = "SELECT created_at, id FROM translations ORDER BY created_at DESC, id DESC";
+        
+        try (Connection connection = getConnection();
+             Statement stmt = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(streamingFetchSize()); // Stream rows instead of buffering the whole result
+            try (ResultSet rs = stmt.executeQuery(sql)) {
+                int rows = 0;
+                while (rs.next()) {
+                    if (rows % pageSize == 0) {
+                        pageStarts.add(new HistoryKey(rs.getTimestamp(1), rs.getInt(2)));
+                    }
+                    rows++;
+                }
+                return rows;
+            }
+        }
+    }
+    
+    /**
+     * Get one page of history (newest first) using keyset pagination.
+     * 
+     * @param from Key of the first row to return (inclusive), or null to start at the newest
+     * @param limit Maximum number of rows
+     */
+    @Override
+    public List<TranslationRecord> getTranslationsPage(HistoryKey from, int limit) throws SQLException {
+        String sql = "SELECT id, audio_file_path, audio_file_size, english_text, " +
+                    "translated_text, target_language, tts_file_path, created_at " +
+                    "FROM translations " +
+                    (from != null ? "WHERE created_at < ? OR (created_at = ? AND id <= ?) " : "") +
+                    "ORDER BY created_at DESC, id DESC LIMIT ?";
+        
+        List<TranslationRecord> records = new ArrayList<>(limit);
+        try (Connection connection = getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            int param = 1;
+            if (from != null) {
+                pstmt.setTimestamp(param++, from.createdAt);
+                pstmt.setTimestamp(param++, from.createdAt);
+                pstmt.setInt(param++, from.id);
+            }
+            pstmt.setInt(param, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    records.add(readRecord(rs));
+                }
+            }
+        }
+        return records;
+    }
+    
+    protected static TranslationRecord readRecord(ResultSet rs) throws SQLException {
+        TranslationRecord record = new TranslationRecord();
+        record.id = rs.getInt("id");
+        record.audioFilePath = rs.getString("audio_file_path");
+        record.audioFileSize = rs.getLong("audio_file_size");
+        record.englishText = rs.getString("english_text");
+        record.translatedText = rs.getString("translated_text");
+        record.targetLanguage = rs.getString("target_language");
+        record.ttsFilePath = rs.getString("tts_file_path");
+        record.createdAt = rs.getTimestamp("created_at");
+        return record;
+    }
+    
+    /**
+     * Save a complete translation record to database
+     * 
+     * @param audioPath Path to the recorded audio file
+     * @param audioSize Size of audio file in bytes
+     * @param englishText Transcribed English text
+     * @param translatedText Translated text in target language
+     * @param targetLanguage Target language code (e.g., "bho", "hi", "es")
+     * @param ttsPath Path to generated TTS audio file
+     * @return The ID of the inserted record, or -1 if failed
+     */
+    @Override
+    public int saveTranslation(String audioPath, long audioSize, String englishText, 
+                               String translatedText, String targetLanguage, String ttsPath) {
+        String sql = "INSERT INTO translations (audio_file_path, audio_file_size, " +
+                    "english_text, translated_text, target_language, tts_file_path) VALUES (?, ?, ?, ?, ?, ?)";
+        
+        try (Connection connection = getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            pstmt.setString(1, audioPath);
+            pstmt.setLong(2, audioSize);
+            pstmt.setString(3, englishText);
+            pstmt.setString(4, translatedText);
+            pstmt.setString(5, targetLanguage);
+            pstmt.setString(6, ttsPath);
+            
+            int affectedRows = pstmt.executeUpdate();
+            
+            if (affectedRows > 0) {
+                try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                    if (generatedKeys.next()) {
+                        int id = generatedKeys.getInt(1);
+                        logger.info("💾 Saved translation to database (ID: {}, Language: {})", id, targetLanguage);
+                        try {
+                            updateDailyStats(connection, 1, audioSize);
+                        } catch (SQLException e) {
+                            logger.error("⚠️ Failed to update daily stats", e);
+                        }
+                        try (PreparedStatement memorize = connection.prepareStatement(memorizeSql())) {
+                            if (addMemoryEntry(memorize, englishText, targetLanguage, translatedText)) {
+                                memorize.executeUpdate();
+                            }
+                        } catch (SQLException e) {
+                            logger.error("⚠️ Failed to update translation memory", e);
+                        }
+                        return id;
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("❌ Failed to save translation to database", e);
+        }
+        return -1;
+    }
+
+    /**
+     * Save several translation records in one transaction: a batched INSERT plus
+     * a single usage_stats upsert for the whole batch. Used by {@link TranslationWriteBehind}.
+     * 
+     * @param records Records to insert; their {@code id} fields are set on success
+     * @return true if every record was saved, false if the transaction was rolled back
+     */
+    @Override
+    public boolean saveTranslations(List<TranslationRecord> records) {
+        if (records.isEmpty()) {
+            return true;
+        }
+        String sql = "INSERT INTO translations (audio_file_path, audio_file_size, " +
+                    "english_text, translated_text, target_language, tts_file_path, " +
+                    "record_ms, upload_ms, transcribe_ms, translate_ms, synthesize_ms, play_ms) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        
+        try (Connection connection = getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                long totalAudioSize = 0;
+                for (TranslationRecord record : records) {
+                    pstmt.setString(1, record.audioFilePath);
+                    pstmt.setLong(2, record.audioFileSize);
+                    pstmt.setString(3, record.englishText);
+                    pstmt.setString(4, record.translatedText);
+                    pstmt.setString(5, record.targetLanguage);
+                    pstmt.setString(6, record.ttsFilePath);
+                    for (int i = 0; i < INSERT_STAGES.length; i++) {
+                        Integer ms = record.timings != null ? record.timings.get(INSERT_STAGES[i]) : null;
+                        if (ms != null) {
+                            pstmt.setInt(7 + i, ms);
+                        } else {
+                            pstmt.setNull(7 + i, Types.INTEGER);
+                        }
+                    }
+                    pstmt.addBatch();
+                    totalAudioSize += record.audioFileSize;
+                }
+                pstmt.executeBatch();
+                
+                // Keys come back in insertion order
+                try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                    for (TranslationRecord record : records) {
+                        if (!generatedKeys.next()) {
+                            throw new SQLException("Missing generated key for batched insert");
+                        }
+                        record.id = generatedKeys.getInt(1);
+                    }
+                }
+                
+                updateDailyStats(connection, records.size(), totalAudioSize);
+                memorize(connection, records);
+                connection.commit();
+                logger.info("💾 Saved {} translation(s) to database in one transaction", records.size());
+                return true;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            logger.error("❌ Failed to save {} translation(s) to database", records.size(), e);
+            for (TranslationRecord record : records) {
+                record.id = 0;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Stream every record oldest first through a forward-only, read-only result
+     * with a small fetch size, so memory use does not grow with the table.
+     */
+    @Override
+    public int streamTranslations(RecordSink sink) throws SQLException, IOException {
+        StringBuilder sql = new StringBuilder("SELECT id, audio_file_path, audio_file_size, english_text, " +
+                    "translated_text, target_language, tts_file_path, created_at");
+        for (StageTimings.Stage stage : StageTimings.Stage.values()) {
+            sql.append(", ").append(stage.column());
+        }
+        sql.append(" FROM translations ORDER BY id");
+
+        try (Connection connection = getConnection();
+             Statement stmt = connection.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(EXPORT_FETCH_SIZE);
+            try (ResultSet rs = stmt.executeQuery(sql.toString())) {
+                int rows = 0;
+                while (rs.next()) {
+                    TranslationRecord record = readRecord(rs);
+                    record.timings = new StageTimings();
+                    for (StageTimings.Stage stage : StageTimings.Stage.values()) {
+                        int ms = rs.getInt(stage.column());
+                        if (!rs.wasNull()) {
+                            record.timings.set(stage, ms);
+                        }
+                    }
+                    sink.accept(record);
+                    rows++;
+                }
+                return rows;
+            }
+        }
+    }
+
+    /**
+     * Insert records as given (keeping created_at and timings) in one transaction.
+     * The translation memory is updated too; usage_stats is not, since these are
+     * not new recordings.
+     */
+    @Override
+    public void importTranslations(List<TranslationRecord> records) throws SQLException {
+        if (records.isEmpty()) {
+            return;
+        }
+        StringBuilder columns = new StringBuilder("audio_file_path, audio_file_size, english_text, " +
+                    "translated_text, target_language, tts_file_path, created_at");
+        StringBuilder values = new StringBuilder("?, ?, ?, ?, ?, ?, ?");
+        for (StageTimings.Stage stage : StageTimings.Stage.values()) {
+            columns.append(", ").append(stage.column());
+            values.append(", ?");
+        }
+        String sql = "INSERT INTO translations (" + columns + ") VALUES (" + values + ")";
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+
+        try (Connection connection = getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                for (TranslationRecord record : records) {
+                    pstmt.setString(1, record.audioFilePath);
+                    pstmt.setLong(2, record.audioFileSize);
+                    pstmt.setString(3, record.englishText);
+                    pstmt.setString(4, record.translatedText);
+                    pstmt.setString(5, record.targetLanguage);
+                    pstmt.setString(6, record.ttsFilePath);
+                    pstmt.setTimestamp(7, record.createdAt != null ? record.createdAt : now);
+                    for (StageTimings.Stage stage : StageTimings.Stage.values()) {
+                        Integer ms = record.timings != null ? record.timings.get(stage) : null;
+                        if (ms != null) {
+                            pstmt.setInt(8 + stage.ordinal(), ms);
+                        } else {
+                            pstmt.setNull(8 + stage.ordinal(), Types.INTEGER);
+                        }
+                    }
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+                try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
+                    for (TranslationRecord record : records) {
+                        record.id = generatedKeys.next() ? generatedKeys.getInt(1) : 0;
+                    }
+                }
+                memorize(connection, records);
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    /**
+     * Delete translations created before the cutoff, oldest first. Each batch is
+     * found through the created_at index and deleted by primary key in its own
+     * short transaction, so the app can keep saving while a large purge runs.
+     * Once a batch is committed, the recordings and speech files of its rows
+     * are deleted too.
+     */
+    @Override
+    public int purgeOlderThan(Timestamp cutoff) throws SQLException {
+        String select = "SELECT id, audio_file_path, tts_file_path FROM translations " +
+                        "WHERE created_at < ? ORDER BY created_at, id LIMIT ?";
+        int deleted = 0;
+        try (Connection connection = getConnection();
+             PreparedStatement find = connection.prepareStatement(select)) {
+            while (true) {
+                List<Integer> ids = new ArrayList<>(PURGE_BATCH_SIZE);
+                List<String> files = new ArrayList<>(PURGE_BATCH_SIZE * 2);
+                find.setTimestamp(1, cutoff);
+                find.setInt(2, PURGE_BATCH_SIZE);
+                try (ResultSet rs = find.executeQuery()) {
+                    while (rs.next()) {
+                        ids.add(rs.getInt(1));
+                        files.add(rs.getString(2));
+                        files.add(rs.getString(3));
+                    }
+                }
+                if (ids.isEmpty()) {
+                    return deleted;
+                }
+                StringBuilder delete = new StringBuilder("DELETE FROM translations WHERE id IN (");
+                for (int i = 0; i < ids.size(); i++) {
+                    delete.append(i == 0 ? "?" : ", ?");
+                }
+                delete.append(')');
+                try (PreparedStatement pstmt = connection.prepareStatement(delete.toString())) {
+                    for (int i = 0; i < ids.size(); i++) {
+                        pstmt.setInt(i + 1, ids.get(i));
+                    }
+                    deleted += pstmt.executeUpdate();
+                }
+                deletePurgedFiles(files); // After the commit, so no remaining row points at a missing file
+                if (ids.size() < PURGE_BATCH_SIZE) {
+                    return deleted;
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes the files of purged rows: the recording (plus a WAV kept next to
+     * its FLAC by ARCHIVE_KEEP_WAV) and the speech with its frame index.
+     */
+    private static void deletePurgedFiles(List<String> paths) {
+        int removed = 0;
+        for (String path : paths) {
+            // Old rows all shared tts_output.mp3, which may still be the latest speech
+            if (path == null || path.endsWith("tts_output.mp3")) {
+                continue;
+            }
+            List<Path> files = new ArrayList<>(List.of(Paths.get(path)));
+            if (path.endsWith(".flac")) {
+                files.add(Paths.get(path.substring(0, path.length() - 5) + ".wav"));
+            } else if (path.endsWith(".mp3")) {
+                files.add(Mp3FrameIndex.sidecarFor(Paths.get(path)));
+            }
+            for (Path file : files) {
+                try {
+                    if (Files.deleteIfExists(file)) {
+                        removed++;
+                    }
+                } catch (IOException | RuntimeException e) {
+                    logger.warn("⚠️ Could not delete purged file {}: {}", file, e.getMessage());
+                }
+            }
+        }
+        logger.debug("🗑️ Deleted {} files of purged translations", removed);
+    }
+
+    /**
+     * Store the SAVE timing of records that were just saved (one batched UPDATE)
+     */
+    @Override
+    public void updateSaveTimes(List<TranslationRecord> records) {
+        String sql = "UPDATE translations SET save_ms = ? WHERE id = ?";
+        try (Connection connection = getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            boolean any = false;
+            for (TranslationRecord record : records) {
+                Integer ms = record.timings != null ? record.timings.get(StageTimings.Stage.SAVE) : null;
+                if (ms != null && record.id > 0) {
+                    pstmt.setInt(1, ms);
+                    pstmt.setInt(2, record.id);
+                    pstmt.addBatch();
+                    any = true;
+                }
+            }
+            if (any) {
+                pstmt.executeBatch();
+            }
+        } catch (SQLException e) {
+            logger.warn("⚠️ Failed to store save timings: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Recompute daily stage percentiles from the given day through today.
+     * Each day is read once through the created_at index and replaced in one
+     * transaction; percentiles are computed here (nearest rank) because MySQL
+     * has no percentile aggregate.
+     */
+    @Override
+    public int rollupStageLatencies(LocalDate from) throws SQLException {
+        try (Connection connection = getConnection()) {
+            if (from == null) {
+                from = firstDayToRollUp(connection);
+                if (from == null) {
+                    return 0; // Nothing recorded yet
+                }
+            }
+            int rows = 0;
+            for (LocalDate day = from; !day.isAfter(LocalDate.now()); day = day.plusDays(1)) {
+                rows += rollupDay(connection, day);
+            }
+            return rows;
+        }
+    }
+
+    /**
+     * The last day already rolled up (it may have been partial), else the first recorded day
+     */
+    private static LocalDate firstDayToRollUp(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery("SELECT MAX(stat_date) FROM stage_latency_stats")) {
+                if (rs.next() && rs.getDate(1) != null) {
+                    return rs.getDate(1).toLocalDate();
+                }
+            }
+            try (ResultSet rs = stmt.executeQuery("SELECT MIN(created_at) FROM translations")) {
+                return rs.next() && rs.getTimestamp(1) != null
+                    ? rs.getTimestamp(1).toLocalDateTime().toLocalDate() : null;
+            }
+        }
+    }
+
+    private static int rollupDay(Connection connection, LocalDate day) throws SQLException {
+        StringBuilder sql = new StringBuilder("SELECT target_language");
+        for (StageTimings.Stage stage : StageTimings.Stage.values()) {
+            sql.append(", ").append(stage.column());
+        }
+        sql.append(" FROM translations WHERE created_at >= ? AND created_at < ?");
+
+        // Timings per stage, then per language
+        Map<StageTimings.Stage, Map<String, List<Integer>>> samples = new HashMap<>();
+        try (PreparedStatement pstmt = connection.prepareStatement(sql.toString())) {
+            pstmt.setTimestamp(1, Timestamp.valueOf(day.atStartOfDay()));
+            pstmt.setTimestamp(2, Timestamp.valueOf(day.plusDays(1).atStartOfDay()));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    String language = rs.getString(1) != null ? rs.getString(1) : "";
+                    for (StageTimings.Stage stage : StageTimings.Stage.values()) {
+                        int ms = rs.getInt(2 + stage.ordinal());
+                        if (!rs.wasNull()) {
+                            samples.computeIfAbsent(stage, s -> new HashMap<>())
+                                .computeIfAbsent(language, l -> new ArrayList<>())
+                                .add(ms);
+                        }
+                    }
+                }
+            }
+        }
+
+        int rows = 0;
+        connection.setAutoCommit(false);
+        try (PreparedStatement delete = connection.prepareStatement(
+                 "DELETE FROM stage_latency_stats WHERE stat_date = ?");
+             PreparedStatement insert = connection.prepareStatement(
+                 "INSERT INTO stage_latency_stats (stat_date, stage, target_language, samples, p50_ms, p95_ms, p99_ms) " +
+                 "VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+            java.sql.Date date = java.sql.Date.valueOf(day);
+            delete.setDate(1, date);
+            delete.executeUpdate();
+            for (Map.Entry<StageTimings.Stage, Map<String, List<Integer>>> stage : samples.entrySet()) {
+                for (Map.Entry<String, List<Integer>> language : stage.getValue().entrySet()) {
+                    int[] sorted = language.getValue().stream().mapToInt(Integer::intValue).toArray();
+                    Arrays.sort(sorted);
+                    insert.setDate(1, date);
+                    insert.setString(2, stage.getKey().name().toLowerCase());
+                    insert.setString(3, language.getKey());
+                    insert.setInt(4, sorted.length);
+                    for (int i = 0; i < PERCENTILES.length; i++) {
+                        // Nearest rank: the smallest value with at least p% of samples at or below it
+                        int rank = (int) Math.ceil(PERCENTILES[i] / 100.0 * sorted.length);
+                        insert.setInt(5 + i, sorted[Math.max(0, rank - 1)]);
+                    }
+                    insert.addBatch();
+                    rows++;
+                }
+            }
+            if (rows > 0) {
+                insert.executeBatch();
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+        return rows;
+    }
+
+    @Override
+    public String findMemorizedTranslation(byte[] key) throws SQLException {
+        String sql = "SELECT translated_text FROM translation_memory WHERE source_hash = ?";
+        try (Connection connection = getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setBytes(1, key);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+
+    /**
+     * Add saved translations to the translation memory (latest translation wins)
+     */
+    protected void memorize(Connection connection, List<TranslationRecord> records) throws SQLException {
+        try (PreparedStatement pstmt = connection.prepareStatement(memorizeSql())) {
+            boolean any = false;
+            for (TranslationRecord record : records) {
+                if (addMemoryEntry(pstmt, record.englishText, record.targetLanguage, record.translatedText)) {
+                    pstmt.addBatch();
+                    any = true;
+                }
+            }
+            if (any) {
+                pstmt.executeBatch();
+            }
+        }
+    }
+
+    /**
+     * Fill the translation memory from every translation stored so far (run once by a migration)
+     */
+    protected void backfillTranslationMemory(Connection connection) throws SQLException {
+        String sql = "SELECT english_text, translated_text, target_language FROM translations " +
+                    "WHERE english_text IS NOT NULL AND translated_text IS NOT NULL ORDER BY id";
+        int entries = 0;
+        try (Statement stmt = connection.createStatement();
+             PreparedStatement memorize = connection.prepareStatement(memorizeSql())) {
+            try (ResultSet rs = stmt.executeQuery(sql)) {
+                while (rs.next()) {
+                    if (addMemoryEntry(memorize, rs.getString(1), rs.getString(3), rs.getString(2))) {
+                        memorize.addBatch();
+                        if (++entries % 500 == 0) {
+                            memorize.executeBatch();
+                        }
+                    }
+                }
+            }
+            memorize.executeBatch();
+        }
+        logger.info("🧠 Translation memory filled from {} earlier translations", entries);
+    }
+
+    private static boolean addMemoryEntry(PreparedStatement pstmt, String englishText,
+                                          String targetLanguage, String translatedText) throws SQLException {
+        if (englishText == null || englishText.isBlank() || translatedText == null
+                || translatedText.isEmpty() || targetLanguage == null) {
+            return false;
+        }
+        pstmt.setBytes(1, TranslationMemory.key(englishText, targetLanguage));
+        pstmt.setString(2, targetLanguage);
+        pstmt.setString(3, TranslationMemory.normalize(englishText));
+        pstmt.setString(4, translatedText);
+        return true;
+    }
+
+    /**
+     * Which of the given speech files are still referenced, looked up in
+     * batches through the tts_file_path index.
+     */
+    @Override
+    public Set<String> findReferencedTtsFiles(Collection<String> paths) throws SQLException {
+        Set<String> referenced = new HashSet<>();
+        List<String> all = new ArrayList<>(paths);
+        try (Connection connection = getConnection()) {
+            for (int from = 0; from < all.size(); from += PURGE_BATCH_SIZE) {
+                List<String> batch = all.subList(from, Math.min(all.size(), from + PURGE_BATCH_SIZE));
+                StringBuilder sql = new StringBuilder("SELECT DISTINCT tts_file_path FROM translations WHERE tts_file_path IN (");
+                for (int i = 0; i < batch.size(); i++) {
+                    sql.append(i == 0 ? "?" : ", ?");
+                }
+                sql.append(')');
+                try (PreparedStatement pstmt = connection.prepareStatement(sql.toString())) {
+                    for (int i = 0; i < batch.size(); i++) {
+                        pstmt.setString(i + 1, batch.get(i));
+                    }
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            referenced.add(rs.getString(1));
+                        }
+                    }
+                }
+            }
+        }
+        return referenced;
+    }
+
+    /**
+     * Point records at a new audio file (e.g. after a WAV was archived as FLAC)
+     * 
+     * @param oldPath Path currently stored in audio_file_path
+     * @param newPath Path of the replacement file
+     * @param newSize Size of the replacement file in bytes
+     * @return Number of records updated
+     */
+    @Override
+    public int updateAudioFile(String oldPath, String newPath, long newSize) {
+        String sql = "UPDATE translations SET audio_file_path = ?, audio_file_size = ? WHERE audio_file_path = ?";
+        
+        try (Connection connection = getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setString(1, newPath);
+            pstmt.setLong(2, newSize);
+            pstmt.setString(3, oldPath);
+            return pstmt.executeUpdate();
+        } catch (SQLException e) {
+            logger.error("❌ Failed to update audio file path", e);
+            return -1;
+        }
+    }
+
+    /**
+     * Get total number of translations stored
+     */
+    @Override
+    public int getTotalTranslations() {
+        String sql = "SELECT COUNT(*) FROM translations";
+        try (Connection connection = getConnection();
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            if (rs.next()) {
+                return rs.getInt(1);
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to get total translations", e);
+        }
+        return 0;
+    }
+
+    /**
+     * Get recent translations (last N records)
+     */
+    @Override
+    public void printRecentTranslations(int limit) {
+        String sql = "SELECT id, english_text, translated_text, target_language, created_at " +
+                    "FROM translations ORDER BY created_at DESC, id DESC LIMIT ?";
+        
+        try (Connection connection = getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setInt(1, limit);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                System.out.println("\n📜 Recent Translations:");
+                System.out.println("━".repeat(80));
+                
+                while (rs.next()) {
+                    int id = rs.getInt("id");
+                    String english = rs.getString("english_text");
+                    String translated = rs.getString("translated_text");
+                    String language = rs.getString("target_language");
+                    Timestamp created = rs.getTimestamp("created_at");
+                    
+                    System.out.println("ID: " + id + " | " + created);
+                    System.out.println("English: " + (english != null ? english : "N/A"));
+                    System.out.println("Translation (" + language + "): " + (translated != null ? translated : "N/A"));
+                    System.out.println("─".repeat(80));
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to fetch recent translations", e);
+        }
+    }
+
+    /**
+     * Get today's statistics
+     */
+    @Override
+    public void printTodayStats() {
+        String sql = "SELECT total_recordings, total_translations, total_audio_size " +
+                    "FROM usage_stats WHERE date = CURRENT_DATE";
+        
+        try (Connection connection = getConnection();
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            
+            if (rs.next()) {
+                int recordings = rs.getInt("total_recordings");
+                int translations = rs.getInt("total_translations");
+                long audioSize = rs.getLong("total_audio_size");
+                
+                System.out.println("\n📊 Today's Stats:");
+                System.out.println("━".repeat(50));
+                System.out.println("🎙️  Recordings: " + recordings);
+                System.out.println("🔄 Translations: " + translations);
+                System.out.println("💾 Audio Data: " + formatBytes(audioSize));
+                System.out.println("━".repeat(50));
+            } else {
+                System.out.println("\n📊 No activity today yet.");
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to fetch today's stats", e);
+        }
+    }
+
+    /**
+     * Format bytes to human-readable format
+     */
+    private String formatBytes(long bytes) {
+        if (bytes < 1024) return bytes + " B";
+        int exp = (int) (Math.log(bytes) / Math.log(1024));
+        String pre = "KMGTPE".charAt(exp - 1) + "";
+        return String.format("%.2f %sB", bytes / Math.pow(1024, exp), pre);
+    }
+
+    /**
+     * Search translations by English or translated text and print the best matches
+     */
+    @Override
+    public void searchTranslations(String searchTerm) {
+        try {
+            List<SearchResult> results = search(searchTerm, null, null, 0, 10);
+            System.out.println("\n🔍 Search Results for: '" + searchTerm + "'");
+            System.out.println("━".repeat(80));
+            
+            for (SearchResult result : results) {
+                TranslationRecord rec = result.record;
+                System.out.println("ID: " + rec.id + " | " + rec.createdAt + " | score " + String.format("%.2f", result.score));
+                System.out.println("English: " + rec.englishText);
+                System.out.println("Translation (" + rec.targetLanguage + "): " + rec.translatedText);
+                System.out.println("─".repeat(80));
+            }
+            
+            if (results.isEmpty()) {
+                System.out.println("No results found.");
+            }
+        } catch (SQLException e) {
+            logger.error("Failed to search translations", e);
+        }
+    }
+
+    /**
+     * Close the connection pool
+     */
+    @Override
+    public void close() {
+        if (dataSource != null && !dataSource.isClosed()) {
+            dataSource.close();
+            logger.info("🔌 Database connection pool closed");
+        }
+    }
+
+    /**
+     * Test method to verify database connectivity
+     */
+    @Override
+    public boolean testConnection() {
+        try (Connection connection = getConnection()) {
+            return connection.isValid(2);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.bhojpurri;
+
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Background job that rolls the per-stage timings of saved translations up
+ * into daily p50/p95/p99 rows in stage_latency_stats, so performance can be
+ * compared across days without parsing logs.
+ * Runs shortly after start-up (catching up on any days missed) and then every
+ * LATENCY_ROLLUP_MINUTES; 0 turns it off.
+ */
+public class LatencyRollup implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(LatencyRollup.class);
+
+    private static final int DEFAULT_INTERVAL_MINUTES = 60;
+    private static final int INITIAL_DELAY_SECONDS = 30;  // Keep start-up free for the UI
+
+    private final TranslationRepository dbManager;
+    private final ScheduledExecutorService scheduler;
+
+    public LatencyRollup(TranslationRepository dbManager) {
+        this.dbManager = dbManager;
+        int intervalMinutes = EnvLoader.getInt("LATENCY_ROLLUP_MINUTES", DEFAULT_INTERVAL_MINUTES);
+        if (intervalMinutes <= 0) {
+            logger.info("Latency rollup disabled");
+            this.scheduler = null;
+            return;
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "latency-rollup");
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::runOnce,
+            INITIAL_DELAY_SECONDS, TimeUnit.MINUTES.toSeconds(intervalMinutes), TimeUnit.SECONDS);
+    }
+
+    /**
+     * Rolls up every day since the last run (including the last rolled-up day, which may have been partial).
+     *
+     * @return Number of (day, stage, language) rows written, or -1 if the rollup failed
+     */
+    public int runOnce() {
+        long start = System.currentTimeMillis();
+        try {
+            int rows = dbManager.rollupStageLatencies(null);
+            logger.info("📈 Stage latency rollup wrote {} rows ({} ms)", rows, System.currentTimeMillis() - start);
+            return rows;
+        } catch (SQLException e) {
+            logger.warn("⚠️ Stage latency rollup failed: {}", e.getMessage());
+            return -1;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
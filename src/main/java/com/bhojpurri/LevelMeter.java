@@ -0,0 +1,117 @@
+package com.bhojpurri;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * Live microphone meter: a level bar with peak hold and a scrolling waveform.
+ * A Swing timer drains the capture thread's {@link LevelMeterRing} at a capped
+ * frame rate and repaints only when new levels arrived.
+ */
+public class LevelMeter extends JComponent implements LevelMeterRing.Sink {
+    private static final int DEFAULT_FPS = 30;
+    private static final int HISTORY_COLUMNS = 240;       // Waveform columns kept on screen
+    private static final float FLOOR_DB = -60f;           // Bottom of the level bar
+    private static final float PEAK_DECAY_PER_FRAME = 0.5f; // dB the peak marker falls per repaint
+
+    private final LevelMeterRing ring;
+    private final Timer timer;
+
+    // Scrolling waveform history (EDT only)
+    private final float[] columnMin = new float[HISTORY_COLUMNS];
+    private final float[] columnMax = new float[HISTORY_COLUMNS];
+    private int nextColumn = 0;
+
+    private float levelDb = FLOOR_DB;
+    private float peakHoldDb = FLOOR_DB;
+    private float framePeakDb = FLOOR_DB;
+    private boolean dirty = false;
+
+    public LevelMeter(LevelMeterRing ring) {
+        this.ring = ring;
+        setPreferredSize(new Dimension(320, 60));
+        setMaximumSize(new Dimension(Integer.MAX_VALUE, 60));
+        setOpaque(false);
+
+        int fps = Math.max(1, EnvLoader.getInt("METER_FPS", DEFAULT_FPS));
+        timer = new Timer(1000 / fps, e -> refresh());
+        timer.setCoalesce(true);
+    }
+
+    /**
+     * Starts draining the ring (call on the EDT).
+     */
+    public void start() {
+        timer.start();
+    }
+
+    public void stop() {
+        timer.stop();
+    }
+
+    @Override
+    public void onLevel(float rms, float peak, float[] min, float[] max, int offset, int points) {
+        levelDb = toDb(rms);
+        framePeakDb = Math.max(framePeakDb, toDb(peak));
+        for (int p = 0; p < points; p++) {
+            columnMin[nextColumn] = min[offset + p];
+            columnMax[nextColumn] = max[offset + p];
+            nextColumn = (nextColumn + 1) % HISTORY_COLUMNS;
+        }
+        dirty = true;
+    }
+
+    private void refresh() {
+        ring.drain(this, Integer.MAX_VALUE);
+        if (!dirty) {
+            if (peakHoldDb <= FLOOR_DB && levelDb <= FLOOR_DB) {
+                return; // Nothing new and nothing left to animate
+            }
+            levelDb = Math.max(FLOOR_DB, levelDb - 3 * PEAK_DECAY_PER_FRAME); // Mic went quiet or closed
+        }
+        peakHoldDb = Math.max(framePeakDb, peakHoldDb - PEAK_DECAY_PER_FRAME);
+        framePeakDb = FLOOR_DB;
+        dirty = false;
+        repaint();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        int w = getWidth();
+        int h = getHeight();
+        int barHeight = 8;
+        int waveHeight = h - barHeight - 4;
+
+        // Waveform, oldest column on the left
+        g2.setColor(new Color(70, 130, 180));
+        int mid = waveHeight / 2;
+        for (int x = 0; x < w; x++) {
+            int column = (nextColumn + x * HISTORY_COLUMNS / Math.max(1, w)) % HISTORY_COLUMNS;
+            int top = mid - Math.round(columnMax[column] * mid);
+            int bottom = mid - Math.round(columnMin[column] * mid);
+            g2.drawLine(x, top, x, Math.max(top, bottom));
+        }
+
+        // Level bar with peak hold
+        int barY = h - barHeight;
+        g2.setColor(new Color(220, 230, 240));
+        g2.fillRect(0, barY, w, barHeight);
+        int level = dbToX(levelDb, w);
+        g2.setColor(levelDb > -6 ? new Color(220, 80, 60) : new Color(90, 180, 110));
+        g2.fillRect(0, barY, level, barHeight);
+        int peakX = dbToX(peakHoldDb, w);
+        g2.setColor(Color.DARK_GRAY);
+        g2.fillRect(Math.max(0, peakX - 2), barY, 2, barHeight);
+        g2.dispose();
+    }
+
+    private static int dbToX(float db, int width) {
+        float fraction = (Math.max(FLOOR_DB, Math.min(0, db)) - FLOOR_DB) / -FLOOR_DB;
+        return Math.round(fraction * width);
+    }
+
+    private static float toDb(float linear) {
+        return linear <= 0 ? FLOOR_DB : Math.max(FLOOR_DB, (float) (20 * Math.log10(linear)));
+    }
+}
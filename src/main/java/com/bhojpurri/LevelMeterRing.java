@@ -0,0 +1,133 @@
+package com.bhojpurri;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free single-producer/single-consumer ring of audio levels.
+ * The capture thread publishes the RMS, peak and a decimated min/max waveform
+ * of every chunk; the UI drains them at display rate. All storage is
+ * preallocated, so publishing never allocates, locks or waits: when the UI
+ * falls behind, new levels are dropped instead.
+ */
+public class LevelMeterRing {
+    /**
+     * Receives drained levels (on the consumer thread).
+     */
+    public interface Sink {
+        /**
+         * @param rms RMS level, 0..1 of full scale
+         * @param peak Peak level, 0..1 of full scale
+         * @param min Waveform minimums (-1..1), valid from {@code offset} for {@code points} entries
+         * @param max Waveform maximums (-1..1), same layout as {@code min}
+         */
+        void onLevel(float rms, float peak, float[] min, float[] max, int offset, int points);
+    }
+
+    private final int capacity;
+    private final int mask;
+    private final int points;
+    private final float[] rms;
+    private final float[] peak;
+    private final float[] waveMin;
+    private final float[] waveMax;
+
+    // Producer writes head, consumer writes tail; each side caches the other's value
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+    private long cachedTail = 0;  // Producer only
+    private long cachedHead = 0;  // Consumer only
+    private long dropped = 0;     // Producer only
+
+    /**
+     * @param slots Number of chunks buffered (rounded up to a power of two)
+     * @param pointsPerChunk Waveform points kept per chunk
+     */
+    public LevelMeterRing(int slots, int pointsPerChunk) {
+        this.capacity = Integer.highestOneBit(Math.max(2, slots - 1)) << 1;
+        this.mask = capacity - 1;
+        this.points = pointsPerChunk;
+        this.rms = new float[capacity];
+        this.peak = new float[capacity];
+        this.waveMin = new float[capacity * points];
+        this.waveMax = new float[capacity * points];
+    }
+
+    /**
+     * Publishes one chunk of 16-bit little-endian mono PCM (capture thread only).
+     *
+     * @return false if the ring was full and the chunk was dropped
+     */
+    public boolean publish(byte[] pcm, int length) {
+        long h = head.get();
+        if (h - cachedTail >= capacity) {
+            cachedTail = tail.get();
+            if (h - cachedTail >= capacity) {
+                dropped++;
+                return false;
+            }
+        }
+
+        int slot = (int) (h & mask);
+        int samples = length / 2;
+        int perPoint = Math.max(1, samples / points);
+        int waveBase = slot * points;
+        long sumSquares = 0;
+        int maxAbs = 0;
+        for (int p = 0; p < points; p++) {
+            int lo = Short.MAX_VALUE;
+            int hi = Short.MIN_VALUE;
+            // The last point also takes the remainder, so RMS and peak cover the whole chunk
+            int end = p == points - 1 ? samples : Math.min(samples, (p + 1) * perPoint);
+            for (int i = p * perPoint; i < end; i++) {
+                int s = (short) ((pcm[2 * i] & 0xFF) | (pcm[2 * i + 1] << 8));
+                sumSquares += (long) s * s;
+                if (s < lo) lo = s;
+                if (s > hi) hi = s;
+            }
+            if (lo > hi) {
+                lo = hi = 0; // Chunk shorter than the number of points
+            }
+            maxAbs = Math.max(maxAbs, Math.max(-lo, hi));
+            waveMin[waveBase + p] = lo / 32768f;
+            waveMax[waveBase + p] = hi / 32768f;
+        }
+        rms[slot] = samples == 0 ? 0 : (float) (Math.sqrt(sumSquares / (double) samples) / 32768.0);
+        peak[slot] = maxAbs / 32768f;
+
+        head.lazySet(h + 1); // Release: slot contents become visible before the new head
+        return true;
+    }
+
+    /**
+     * Hands every pending level to the sink (consumer thread only).
+     *
+     * @param max Most levels to drain in one call
+     * @return Number of levels drained
+     */
+    public int drain(Sink sink, int max) {
+        long t = tail.get();
+        if (t >= cachedHead) {
+            cachedHead = head.get();
+        }
+        int drained = 0;
+        while (t < cachedHead && drained < max) {
+            int slot = (int) (t & mask);
+            sink.onLevel(rms[slot], peak[slot], waveMin, waveMax, slot * points, points);
+            t++;
+            drained++;
+        }
+        tail.lazySet(t);
+        return drained;
+    }
+
+    public int getPointsPerChunk() {
+        return points;
+    }
+
+    /**
+     * Levels dropped because the consumer fell behind (read from the producer side).
+     */
+    public long getDroppedCount() {
+        return dropped;
+    }
+}
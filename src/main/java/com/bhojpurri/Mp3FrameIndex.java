@@ -0,0 +1,337 @@
+package com.bhojpurri;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Byte offset and start time of every frame in an MP3 file.
+ * Built by parsing frame headers only (no decoding), so it is cheap to create
+ * when TTS audio is first stored. Lets playback seek to any time in O(log n).
+ * The index is cached next to the MP3 as a small ".idx" sidecar file.
+ */
+public class Mp3FrameIndex {
+    private static final Logger logger = LoggerFactory.getLogger(Mp3FrameIndex.class);
+
+    private static final int MAGIC = 0x424D4649; // "BMFI"
+    private static final int FORMAT_VERSION = 1;
+    private static final String SIDECAR_SUFFIX = ".idx";
+
+    // Bitrates in kbps, indexed by [table][bitrate index]
+    private static final int[][] BITRATES = {
+        {0, 32, 64, 96, 128, 160, 192, 224, 256, 288, 320, 352, 384, 416, 448}, // MPEG-1 Layer I
+        {0, 32, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320, 384},    // MPEG-1 Layer II
+        {0, 32, 40, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320},     // MPEG-1 Layer III
+        {0, 32, 48, 56, 64, 80, 96, 112, 128, 144, 160, 176, 192, 224, 256},    // MPEG-2/2.5 Layer I
+        {0, 8, 16, 24, 32, 40, 48, 56, 64, 80, 96, 112, 128, 144, 160}          // MPEG-2/2.5 Layer II & III
+    };
+
+    // Sample rates in Hz, indexed by [version][sample rate index]
+    private static final int[] SAMPLE_RATES_V1 = {44100, 48000, 32000};
+    private static final int[] SAMPLE_RATES_V2 = {22050, 24000, 16000};
+    private static final int[] SAMPLE_RATES_V25 = {11025, 12000, 8000};
+
+    private final int[] offsets;      // Byte offset of each frame
+    private final long[] startMicros; // Start time of each frame
+    private final long durationMicros;
+    private final long sourceLength;
+    private final long sourceModified;
+
+    private Mp3FrameIndex(int[] offsets, long[] startMicros, long durationMicros,
+                          long sourceLength, long sourceModified) {
+        this.offsets = offsets;
+        this.startMicros = startMicros;
+        this.durationMicros = durationMicros;
+        this.sourceLength = sourceLength;
+        this.sourceModified = sourceModified;
+    }
+
+    /**
+     * Builds the index for an MP3 file and stores it in the sidecar file.
+     * Call this right after new audio has been written.
+     */
+    public static Mp3FrameIndex buildAndStore(Path mp3File) throws IOException {
+        long start = System.nanoTime();
+        Mp3FrameIndex index = build(mp3File);
+        index.save(sidecarFor(mp3File));
+        logger.info("Indexed {} MP3 frames ({} ms of audio) in {} µs",
+            index.getFrameCount(), index.getDurationMillis(), (System.nanoTime() - start) / 1000);
+        return index;
+    }
+
+    /**
+     * Gets the index for an MP3 file, loading the sidecar if it is still valid
+     * and rebuilding it otherwise.
+     */
+    public static Mp3FrameIndex forFile(Path mp3File) throws IOException {
+        Path sidecar = sidecarFor(mp3File);
+        if (Files.exists(sidecar)) {
+            try {
+                Mp3FrameIndex index = load(sidecar);
+                if (index.sourceLength == Files.size(mp3File)
+                        && index.sourceModified == Files.getLastModifiedTime(mp3File).toMillis()) {
+                    return index;
+                }
+                logger.debug("Stale frame index for {} - rebuilding", mp3File);
+            } catch (IOException e) {
+                logger.warn("Could not read frame index {}: {}", sidecar, e.getMessage());
+            }
+        }
+        return buildAndStore(mp3File);
+    }
+
+    /**
+     * Gets the sidecar path used to cache the index of an MP3 file.
+     */
+    public static Path sidecarFor(Path mp3File) {
+        return mp3File.resolveSibling(mp3File.getFileName() + SIDECAR_SUFFIX);
+    }
+
+    /**
+     * Parses every frame header of an MP3 file.
+     */
+    public static Mp3FrameIndex build(Path mp3File) throws IOException {
+        try (FileChannel channel = FileChannel.open(mp3File, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("MP3 file too large to index: " + size + " bytes");
+            }
+            // Read into a pooled buffer rather than mapping: a live mapping would stop
+            // the TTS file from being deleted/overwritten on Windows
+            try (BufferPool.Lease lease = BufferPool.shared().lease((int) size)) {
+                ByteBuffer data = lease.buffer();
+                while (data.hasRemaining() && channel.read(data) >= 0) {
+                    // Keep reading until the buffer is full
+                }
+                return parse(data, data.position(), size, Files.getLastModifiedTime(mp3File).toMillis());
+            }
+        }
+    }
+
+    /**
+     * Walks the frame headers in the first {@code length} bytes of {@code data}.
+     */
+    private static Mp3FrameIndex parse(ByteBuffer data, int length, long sourceLength, long sourceModified) {
+        int[] offsets = new int[256];
+        long[] times = new long[256];
+        int count = 0;
+        long timeMicros = 0;
+
+        int pos = skipId3v2(data, length);
+        while (pos + 4 <= length) {
+            int header = data.getInt(pos);
+            int frameLength = frameLength(header);
+            if (frameLength <= 0 || pos + frameLength > length) {
+                pos++; // Lost sync (junk or trailing tag) - scan forward
+                continue;
+            }
+            if (count == offsets.length) {
+                offsets = Arrays.copyOf(offsets, count * 2);
+                times = Arrays.copyOf(times, count * 2);
+            }
+            offsets[count] = pos;
+            times[count] = timeMicros;
+            count++;
+            timeMicros += samplesPerFrame(header) * 1_000_000L / sampleRate(header);
+            pos += frameLength;
+        }
+
+        return new Mp3FrameIndex(Arrays.copyOf(offsets, count), Arrays.copyOf(times, count),
+            timeMicros, sourceLength, sourceModified);
+
+    }
+
+    /**
+     * Finds the frame that is playing at the given time.
+     *
+     * @return Frame number (clamped to the valid range)
+     */
+    public int frameAt(long millis) {
+        if (offsets.length == 0) {
+            return 0;
+        }
+        int i = Arrays.binarySearch(startMicros, millis * 1000);
+        if (i < 0) {
+            i = -i - 2; // Frame that started just before the requested time
+        }
+        return Math.max(0, Math.min(i, offsets.length - 1));
+    }
+
+    /**
+     * Gets the byte offset of a frame.
+     */
+    public long offsetOf(int frame) {
+        return offsets[frame];
+    }
+
+    /**
+     * Gets the start time of a frame in milliseconds.
+     */
+    public long timeOf(int frame) {
+        return startMicros[frame] / 1000;
+    }
+
+    /**
+     * Estimates the start time of a sentence in the spoken text.
+     * TTS providers do not return word timings, so the position is
+     * interpolated from the share of characters that precede the sentence.
+     *
+     * @param text The text that was synthesized into this file
+     * @param sentenceIndex Zero-based sentence number
+     * @return Estimated start time in milliseconds
+     */
+    public long timeOfSentence(String text, int sentenceIndex) {
+        if (text == null || text.isEmpty() || sentenceIndex <= 0) {
+            return 0;
+        }
+        int sentence = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (isSentenceEnd(text.charAt(i))) {
+                // Skip over runs of terminators and whitespace
+                while (i + 1 < text.length()
+                        && (isSentenceEnd(text.charAt(i + 1)) || Character.isWhitespace(text.charAt(i + 1)))) {
+                    i++;
+                }
+                if (++sentence == sentenceIndex) {
+                    return durationMicros / 1000 * (i + 1) / text.length();
+                }
+            }
+        }
+        return getDurationMillis();
+    }
+
+    /**
+     * Finds the sentence being spoken at the given time (the inverse of
+     * {@link #timeOfSentence}).
+     *
+     * @return Zero-based sentence number
+     */
+    public int sentenceAt(String text, long millis) {
+        int sentence = 0;
+        while (true) {
+            long next = timeOfSentence(text, sentence + 1);
+            if (next > millis || next >= getDurationMillis()) {
+                return sentence;
+            }
+            sentence++;
+        }
+    }
+
+    public int getFrameCount() {
+        return offsets.length;
+    }
+
+    public long getDurationMillis() {
+        return durationMicros / 1000;
+    }
+
+    private void save(Path sidecar) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(sidecar)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(sourceLength);
+            out.writeLong(sourceModified);
+            out.writeLong(durationMicros);
+            out.writeInt(offsets.length);
+            for (int i = 0; i < offsets.length; i++) {
+                out.writeInt(offsets[i]);
+                out.writeLong(startMicros[i]);
+            }
+        }
+    }
+
+    private static Mp3FrameIndex load(Path sidecar) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(sidecar)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Not a frame index file");
+            }
+            long sourceLength = in.readLong();
+            long sourceModified = in.readLong();
+            long duration = in.readLong();
+            int count = in.readInt();
+            int[] offsets = new int[count];
+            long[] times = new long[count];
+            for (int i = 0; i < count; i++) {
+                offsets[i] = in.readInt();
+                times[i] = in.readLong();
+            }
+            return new Mp3FrameIndex(offsets, times, duration, sourceLength, sourceModified);
+        }
+    }
+
+    private static boolean isSentenceEnd(char c) {
+        return c == '.' || c == '!' || c == '?' || c == '।' || c == '॥' || c == '۔';
+    }
+
+    /**
+     * Skips an ID3v2 tag at the start of the file, if present.
+     */
+    private static int skipId3v2(ByteBuffer data, int length) {
+        if (length >= 10 && data.get(0) == 'I' && data.get(1) == 'D' && data.get(2) == '3') {
+            int size = ((data.get(6) & 0x7F) << 21) | ((data.get(7) & 0x7F) << 14)
+                     | ((data.get(8) & 0x7F) << 7) | (data.get(9) & 0x7F);
+            boolean footer = (data.get(5) & 0x10) != 0;
+            return Math.min(length, 10 + size + (footer ? 10 : 0));
+        }
+        return 0;
+    }
+
+    /**
+     * Computes the frame length from a 32-bit header, or -1 if it is not a valid header.
+     */
+    static int frameLength(int header) {
+        if ((header & 0xFFE00000) != 0xFFE00000) {
+            return -1; // No frame sync
+        }
+        int version = (header >> 19) & 0x3;      // 0 = 2.5, 2 = 2, 3 = 1
+        int layer = (header >> 17) & 0x3;        // 1 = III, 2 = II, 3 = I
+        int bitrateIndex = (header >> 12) & 0xF;
+        int rateIndex = (header >> 10) & 0x3;
+        int padding = (header >> 9) & 0x1;
+        if (version == 1 || layer == 0 || bitrateIndex == 0 || bitrateIndex == 15 || rateIndex == 3) {
+            return -1; // Reserved values or free format
+        }
+
+        int table;
+        if (version == 3) {
+            table = 3 - layer;                   // I -> 0, II -> 1, III -> 2
+        } else {
+            table = layer == 3 ? 3 : 4;
+        }
+        int bitrate = BITRATES[table][bitrateIndex] * 1000;
+        int sampleRate = sampleRate(header);
+
+        if (layer == 3) {
+            return (12 * bitrate / sampleRate + padding) * 4;
+        }
+        int coefficient = (layer == 1 && version != 3) ? 72 : 144;
+        return coefficient * bitrate / sampleRate + padding;
+    }
+
+    private static int sampleRate(int header) {
+        int version = (header >> 19) & 0x3;
+        int rateIndex = (header >> 10) & 0x3;
+        if (version == 3) return SAMPLE_RATES_V1[rateIndex];
+        if (version == 2) return SAMPLE_RATES_V2[rateIndex];
+        return SAMPLE_RATES_V25[rateIndex];
+    }
+
+    private static int samplesPerFrame(int header) {
+        int version = (header >> 19) & 0x3;
+        int layer = (header >> 17) & 0x3;
+        if (layer == 3) return 384;
+        if (layer == 1 && version != 3) return 576;
+        return 1152;
+    }
+}
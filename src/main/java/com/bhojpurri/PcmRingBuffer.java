@@ -0,0 +1,151 @@
+package com.bhojpurri;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Fixed-size circular buffer for raw PCM bytes.
+ * Allocated once (off-heap) and reused for every recording. When it is full
+ * the oldest audio is overwritten. Not thread-safe: one capture thread writes,
+ * and snapshots are taken after the writer has stopped or under external locking.
+ */
+public class PcmRingBuffer {
+    private final ByteBuffer buffer;
+    private final int capacity;
+    private int writePos = 0;   // Next byte to write
+    private int size = 0;       // Valid bytes (<= capacity)
+    private long overwritten = 0;
+
+    /**
+     * @param capacity Buffer size in bytes
+     */
+    public PcmRingBuffer(int capacity) {
+        this.capacity = capacity;
+        this.buffer = ByteBuffer.allocateDirect(capacity);
+    }
+
+    /**
+     * Appends bytes, overwriting the oldest data if the buffer is full.
+     */
+    public void write(byte[] data, int offset, int length) {
+        if (length >= capacity) {
+            // Only the newest 'capacity' bytes can be kept
+            overwritten += size + length - capacity;
+            offset += length - capacity;
+            length = capacity;
+        } else if (size + length > capacity) {
+            overwritten += size + length - capacity;
+        }
+
+        int first = Math.min(length, capacity - writePos);
+        buffer.position(writePos);
+        buffer.put(data, offset, first);
+        if (first < length) {
+            buffer.position(0);
+            buffer.put(data, offset + first, length - first);
+        }
+        writePos = (writePos + length) % capacity;
+        size = Math.min(capacity, size + length);
+    }
+
+    /**
+     * Appends the newest bytes of this buffer to another ring buffer (oldest first).
+     *
+     * @param dest Ring buffer to append to
+     * @param length Number of bytes to copy (clamped to the available data)
+     * @return Number of bytes copied
+     */
+    public int appendLastTo(PcmRingBuffer dest, int length) {
+        length = Math.min(length, size);
+        int start = (writePos - length + capacity) % capacity;
+        int first = Math.min(length, capacity - start);
+
+        ByteBuffer src = buffer.duplicate();
+        src.limit(start + first).position(start);
+        dest.write(src);
+        if (first < length) {
+            src.limit(length - first).position(0);
+            dest.write(src);
+        }
+        return length;
+    }
+
+    /**
+     * Appends the remaining bytes of a buffer, overwriting the oldest data if full.
+     */
+    public void write(ByteBuffer src) {
+        int length = src.remaining();
+        if (length >= capacity) {
+            overwritten += size + length - capacity;
+            src.position(src.position() + length - capacity);
+            length = capacity;
+        } else if (size + length > capacity) {
+            overwritten += size + length - capacity;
+        }
+
+        int first = Math.min(length, capacity - writePos);
+        int srcLimit = src.limit();
+        buffer.position(writePos);
+        src.limit(src.position() + first);
+        buffer.put(src);
+        src.limit(srcLimit);
+        if (first < length) {
+            buffer.position(0);
+            buffer.put(src);
+        }
+        writePos = (writePos + length) % capacity;
+        size = Math.min(capacity, size + length);
+    }
+
+    /**
+     * Copies the newest bytes into the destination buffer (oldest first).
+     *
+     * @param dest Destination; must have at least {@code length} bytes remaining
+     * @param length Number of bytes to copy (clamped to the available data)
+     * @return Number of bytes copied
+     */
+    public int copyLast(ByteBuffer dest, int length) {
+        length = Math.min(length, size);
+        int start = (writePos - length + capacity) % capacity;
+        int first = Math.min(length, capacity - start);
+
+        ByteBuffer src = buffer.duplicate();
+        src.limit(start + first).position(start);
+        dest.put(src);
+        if (first < length) {
+            src.limit(length - first).position(0);
+            dest.put(src);
+        }
+        return length;
+    }
+
+    /**
+     * Copies everything currently in the buffer into the destination (oldest first).
+     */
+    public int copyTo(ByteBuffer dest) {
+        return copyLast(dest, size);
+    }
+
+    /**
+     * Discards all data without releasing memory.
+     */
+    public void clear() {
+        writePos = 0;
+        size = 0;
+        overwritten = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Bytes lost because the buffer wrapped since the last {@link #clear()}.
+     */
+    public long getOverwrittenBytes() {
+        return overwritten;
+    }
+}
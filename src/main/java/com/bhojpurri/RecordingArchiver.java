@@ -0,0 +1,233 @@
+package com.bhojpurri;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+import net.sourceforge.javaflacencoder.EncodingConfiguration;
+import net.sourceforge.javaflacencoder.FLACEncoder;
+import net.sourceforge.javaflacencoder.FLACFileOutputStream;
+import net.sourceforge.javaflacencoder.StreamConfiguration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Transcodes finished recordings from WAV to FLAC in the background.
+ * FLAC is lossless and typically halves speech recordings; the database row is
+ * pointed at the new file and the WAV is removed. Archived recordings still play
+ * through Java Sound thanks to the jflac decoder SPI.
+ */
+public class RecordingArchiver {
+    private static final Logger logger = LoggerFactory.getLogger(RecordingArchiver.class);
+
+    private static final int BLOCK_SIZE = 4096;  // Samples per FLAC block (per channel)
+
+    private final TranslationRepository dbManager;
+    private final boolean enabled;
+    private final boolean keepWav;
+
+    private final AtomicLong filesArchived = new AtomicLong();
+    private final AtomicLong bytesBefore = new AtomicLong();
+    private final AtomicLong bytesAfter = new AtomicLong();
+
+    // One low-priority thread: archival must never compete with the live pipeline
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "recording-archiver");
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY);
+        return t;
+    });
+
+    public RecordingArchiver(TranslationRepository dbManager) {
+        this.dbManager = dbManager;
+        this.enabled = "flac".equalsIgnoreCase(EnvLoader.get("ARCHIVE_FORMAT", "flac"));
+        this.keepWav = EnvLoader.getBoolean("ARCHIVE_KEEP_WAV", false);
+        logger.info("Recording archive format: {}", enabled ? "FLAC" : "WAV");
+    }
+
+    /**
+     * Archives a session's recording once its WAV is on disk.
+     * Call after the translation has been saved, so the row to update exists.
+     */
+    public void archiveWhenWritten(RecordingSessionManager.RecordingSession session) {
+        if (!enabled) {
+            return;
+        }
+        session.whenWritten().thenAccept(wav -> {
+            if (wav != null) {
+                archive(wav);
+            }
+        });
+    }
+
+    /**
+     * Queues one WAV file for transcoding.
+     *
+     * @return The FLAC file, or null if the file was left as it is
+     */
+    public CompletableFuture<File> archive(File wav) {
+        return CompletableFuture.supplyAsync(() -> archiveNow(wav), executor);
+    }
+
+    /**
+     * Queues every WAV left in a directory by earlier runs, first repairing the
+     * headers of any that a crash left unfinished.
+     * Only call this when no recordings are in flight.
+     */
+    public void archiveExisting(File directory) {
+        archiveExisting(directory, Long.MAX_VALUE);
+    }
+
+    /**
+     * Like {@link #archiveExisting(File)}, but only for files last modified before
+     * the given time, so recordings started since then are left alone.
+     */
+    public void archiveExisting(File directory, long modifiedBefore) {
+        File[] leftovers = directory.listFiles((dir, name) -> name.toLowerCase().endsWith(".wav")
+            && new File(dir, name).lastModified() < modifiedBefore);
+        if (leftovers == null || leftovers.length == 0) {
+            return;
+        }
+        executor.execute(() -> recoverUnfinished(leftovers)); // Single thread: runs before the encodes below
+        if (!enabled) {
+            return;
+        }
+        logger.info("📦 Archiving {} WAV recordings from earlier runs", leftovers.length);
+        for (File wav : leftovers) {
+            archive(wav);
+        }
+    }
+
+    public long getFilesArchived() {
+        return filesArchived.get();
+    }
+
+    /**
+     * Bytes saved so far (WAV size minus FLAC size).
+     */
+    public long getBytesSaved() {
+        return bytesBefore.get() - bytesAfter.get();
+    }
+
+    private static void recoverUnfinished(File[] wavs) {
+        for (File wav : wavs) {
+            try {
+                WavWriter.recover(wav.toPath());
+            } catch (IOException e) {
+                logger.warn("⚠️ Could not check {}: {}", wav.getName(), e.getMessage());
+            }
+        }
+    }
+
+    private File archiveNow(File wav) {
+        if (!wav.exists()) {
+            return null;
+        }
+        String name = wav.getName();
+        File flac = new File(wav.getParentFile(), name.substring(0, name.length() - 4) + ".flac");
+        File partial = new File(flac.getPath() + ".part");
+        boolean repointed = false;
+        try {
+            long start = System.currentTimeMillis();
+            encodeFlac(wav, partial);
+            Files.move(partial.toPath(), flac.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+            long wavSize = wav.length();
+            long flacSize = flac.length();
+            int rows = dbManager.updateAudioFile(wav.getAbsolutePath(), flac.getAbsolutePath(), flacSize);
+            if (rows < 0) {
+                // The rows still point at the WAV, so it must stay and the FLAC is not needed
+                throw new IOException("database still points at the WAV");
+            }
+            repointed = true;
+            if (!keepWav) {
+                Files.deleteIfExists(wav.toPath());
+            }
+
+            filesArchived.incrementAndGet();
+            bytesBefore.addAndGet(wavSize);
+            bytesAfter.addAndGet(flacSize);
+            logger.info("📦 Archived {} -> {} ({} -> {} bytes, {}%, {} ms, {} row(s) updated)",
+                name, flac.getName(), wavSize, flacSize, flacSize * 100 / Math.max(1, wavSize),
+                System.currentTimeMillis() - start, rows);
+            return flac;
+        } catch (IOException | UnsupportedAudioFileException | RuntimeException e) {
+            logger.warn("⚠️ Could not archive {} - keeping the WAV: {}", name, e.getMessage());
+            partial.delete();
+            if (!repointed) {
+                flac.delete();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Encodes a 16-bit PCM WAV file as FLAC.
+     */
+    static void encodeFlac(File wav, File flac) throws IOException, UnsupportedAudioFileException {
+        try (AudioInputStream in = AudioSystem.getAudioInputStream(wav)) {
+            AudioFormat format = in.getFormat();
+            if (format.getEncoding() != AudioFormat.Encoding.PCM_SIGNED
+                    || format.getSampleSizeInBits() != 16 || format.isBigEndian()) {
+                throw new UnsupportedAudioFileException("Only 16-bit little-endian PCM is archived, not " + format);
+            }
+            int channels = format.getChannels();
+
+            StreamConfiguration streamConfig = new StreamConfiguration();
+            streamConfig.setChannelCount(channels);
+            streamConfig.setSampleRate((int) format.getSampleRate());
+            streamConfig.setBitsPerSample(16);
+            streamConfig.setMinBlockSize(BLOCK_SIZE);
+            streamConfig.setMaxBlockSize(BLOCK_SIZE);
+
+            FLACEncoder encoder = new FLACEncoder();
+            encoder.setStreamConfiguration(streamConfig);
+            encoder.setEncodingConfiguration(new EncodingConfiguration());
+            encoder.setThreadCount(1);
+
+            FLACFileOutputStream out = new FLACFileOutputStream(flac);
+            try {
+                encoder.setOutputStream(out);
+                encoder.openFLACStream();
+
+                byte[] bytes = new byte[BLOCK_SIZE * 2 * channels];
+                int[] samples = new int[BLOCK_SIZE * channels];
+                int read;
+                while ((read = readFully(in, bytes)) > 0) {
+                    int count = read / 2;
+                    for (int i = 0; i < count; i++) {
+                        samples[i] = (short) ((bytes[2 * i] & 0xFF) | (bytes[2 * i + 1] << 8));
+                    }
+                    encoder.addSamples(samples, count / channels);
+                    encoder.encodeSamples(encoder.fullBlockSamplesAvailableToEncode(), false);
+                }
+                encoder.encodeSamples(encoder.samplesAvailableToEncode(), true);
+            } finally {
+                out.close();
+            }
+        }
+    }
+
+    private static int readFully(AudioInputStream in, byte[] buffer) throws IOException {
+        int total = 0;
+        while (total < buffer.length) {
+            int n = in.read(buffer, total, buffer.length - total);
+            if (n < 0) {
+                break;
+            }
+            total += n;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,209 @@
+package com.bhojpurri;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Gives every utterance its own recording session: a unique ID, a unique
+ * WAV file and a background write of that file. Sessions stay "in flight"
+ * until the pipeline has finished with them, so back-to-back utterances
+ * never share or race on the same path.
+ */
+public class RecordingSessionManager {
+    private static final Logger logger = LoggerFactory.getLogger(RecordingSessionManager.class);
+
+    /**
+     * Lifecycle of a recording session.
+     */
+    public enum State {
+        RECORDING,  // Microphone is capturing
+        CAPTURED,   // Audio is complete (in memory or on disk)
+        WRITTEN,    // Archival WAV is on disk
+        FAILED,     // Capture or archival failed
+        COMPLETED   // Pipeline is done with the session
+    }
+
+    /**
+     * One utterance.
+     */
+    public static class RecordingSession {
+        private final long id;
+        private final File file;
+        private final long startedAt;
+        private final CompletableFuture<File> written = new CompletableFuture<>();
+        private volatile State state = State.RECORDING;
+        private volatile CapturedAudio capture;
+        private boolean captureReleased = false; // Guarded by the session's monitor
+
+        RecordingSession(long id, File file) {
+            this.id = id;
+            this.file = file;
+            this.startedAt = System.currentTimeMillis();
+        }
+
+        public long getId() { return id; }
+        public File getFile() { return file; }
+        public long getStartedAt() { return startedAt; }
+        public State getState() { return state; }
+
+        /**
+         * Gets the in-memory audio (memory capture mode only, otherwise null).
+         */
+        public CapturedAudio getCapture() { return capture; }
+
+        /**
+         * Completes when the archival WAV has been written (or fails if it could not be).
+         */
+        public CompletableFuture<File> whenWritten() { return written; }
+
+        @Override
+        public String toString() {
+            return "session#" + id + " [" + state + "] " + file.getName();
+        }
+    }
+
+    private final File outputDir;
+    private final AtomicLong lastId = new AtomicLong();
+    private final Map<Long, RecordingSession> inFlight = new ConcurrentHashMap<>();
+
+    // Single background thread for archival WAV files (never on the key-release path)
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "wav-archive-writer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public RecordingSessionManager(File outputDir) {
+        this.outputDir = outputDir;
+        if (!outputDir.exists()) {
+            outputDir.mkdirs();
+        }
+    }
+
+    /**
+     * Starts a new session with a unique ID and file.
+     * IDs are millisecond timestamps bumped as needed, so they are unique within
+     * a run and do not collide with files left by earlier runs.
+     */
+    public RecordingSession begin() {
+        long id = lastId.updateAndGet(prev -> Math.max(prev + 1, System.currentTimeMillis()));
+        File file = new File(outputDir, "recording_" + id + ".wav");
+        while (file.exists()) {
+            id = lastId.incrementAndGet();
+            file = new File(outputDir, "recording_" + id + ".wav");
+        }
+        RecordingSession session = new RecordingSession(id, file);
+        inFlight.put(id, session);
+        logger.info("🎬 Started {} ({} in flight)", session, inFlight.size());
+        return session;
+    }
+
+    /**
+     * Marks a session as captured in memory and queues its archival write.
+     *
+     * @param archive Whether to write the WAV file at all
+     */
+    public void captured(RecordingSession session, CapturedAudio capture, boolean archive) {
+        session.capture = capture;
+        session.state = State.CAPTURED;
+        if (archive) {
+            capture.retain(); // The writer holds the PCM until the file is written
+            writer.submit(() -> writeWav(session));
+        } else {
+            session.written.complete(null);
+        }
+    }
+
+    /**
+     * Marks a session whose file was written directly by the capture thread.
+     */
+    public void capturedToFile(RecordingSession session) {
+        session.state = State.WRITTEN;
+        session.written.complete(session.file);
+    }
+
+    /**
+     * Marks a session as failed and stops tracking it.
+     */
+    public void failed(RecordingSession session, Throwable cause) {
+        releaseCapture(session);
+        session.state = State.FAILED;
+        session.written.completeExceptionally(cause);
+        inFlight.remove(session.id);
+    }
+
+    /**
+     * Called when the pipeline has finished with a session.
+     */
+    public void complete(RecordingSession session) {
+        if (session.state != State.FAILED) {
+            session.state = State.COMPLETED;
+        }
+        releaseCapture(session);
+        inFlight.remove(session.id);
+        logger.debug("Completed {} ({} still in flight)", session, inFlight.size());
+    }
+
+    /**
+     * Gets a snapshot of the sessions that are still being processed.
+     */
+    public List<RecordingSession> getInFlight() {
+        return new ArrayList<>(inFlight.values());
+    }
+
+    /**
+     * Returns the pipeline's hold on a session's pooled PCM (at most once).
+     */
+    private void releaseCapture(RecordingSession session) {
+        CapturedAudio capture;
+        synchronized (session) {
+            capture = session.capture;
+            if (capture == null || session.captureReleased) {
+                return;
+            }
+            session.captureReleased = true;
+        }
+        capture.release();
+    }
+
+    /**
+     * Writes a captured recording to its WAV file (runs on the writer thread).
+     */
+    private void writeWav(RecordingSession session) {
+        CapturedAudio capture = session.capture;
+        try (FileChannel channel = FileChannel.open(session.file.toPath(),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            ByteBuffer[] parts = {
+                WavHeader.create(capture.getFormat(), capture.getPcmLength()),
+                capture.getPcm()
+            };
+            while (parts[1].hasRemaining()) {
+                channel.write(parts);
+            }
+            if (session.state == State.CAPTURED) {
+                session.state = State.WRITTEN;
+            }
+            session.written.complete(session.file);
+            logger.info("Archived recording: {} ({} bytes)", session.file.getAbsolutePath(), capture.getWavSize());
+        } catch (IOException e) {
+            logger.error("Failed to archive recording {}", session.file.getAbsolutePath(), e);
+            session.written.completeExceptionally(e);
+        } finally {
+            capture.release();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.bhojpurri;
+
+import java.util.Arrays;
+
+/**
+ * Streaming windowed-sinc sample rate converter for 16-bit little-endian PCM.
+ * Used by the capture thread when the microphone cannot deliver the recorder's
+ * target rate natively. Multi-channel input is mixed down to mono. The filter
+ * is band-limited to the lower of the two Nyquist frequencies, so downsampling
+ * does not alias. All buffers are allocated up front for a maximum chunk size.
+ */
+public class Resampler {
+    private static final int ZERO_CROSSINGS = 16;  // Filter half-width in zero crossings
+    private static final int PHASES = 256;          // Fractional positions in the filter table
+    private static final double ROLLOFF = 0.94;     // Cutoff as a fraction of the lower Nyquist
+    private static final double KAISER_BETA = 8.0;  // ~80 dB stop-band attenuation
+
+    private final int inChannels;
+    private final double step;        // Input samples advanced per output sample
+    private final int halfWidth;      // Filter half-width in input samples
+    private final float[][] table;    // [phase][tap], PHASES + 1 rows for interpolation
+
+    private float[] history;          // Mono input samples not yet fully consumed
+    private int historyLength;
+    private double time;              // Position of the next output sample in history
+
+    /**
+     * @param inRate Input sample rate (Hz)
+     * @param inChannels Input channel count (mixed down to mono)
+     * @param outRate Output sample rate (Hz)
+     * @param maxInputBytes Largest chunk that will be passed to {@link #process}
+     */
+    public Resampler(float inRate, int inChannels, float outRate, int maxInputBytes) {
+        this.inChannels = inChannels;
+        this.step = inRate / outRate;
+        double cutoff = ROLLOFF * Math.min(1.0, outRate / inRate);
+        this.halfWidth = (int) Math.ceil(ZERO_CROSSINGS / cutoff);
+
+        // Precompute the Kaiser-windowed sinc at PHASES fractional offsets
+        int taps = 2 * halfWidth;
+        table = new float[PHASES + 1][taps];
+        double i0Beta = besselI0(KAISER_BETA);
+        for (int p = 0; p <= PHASES; p++) {
+            double frac = p / (double) PHASES;
+            for (int k = 0; k < taps; k++) {
+                double x = (k - halfWidth + 1) - frac;           // Distance from the output position
+                double ratio = x / halfWidth;
+                double window = Math.abs(ratio) >= 1 ? 0 : besselI0(KAISER_BETA * Math.sqrt(1 - ratio * ratio)) / i0Beta;
+                double arg = Math.PI * cutoff * x;
+                double sinc = arg == 0 ? 1 : Math.sin(arg) / arg;
+                table[p][k] = (float) (cutoff * sinc * window);
+            }
+        }
+
+        int maxInputSamples = maxInputBytes / (2 * inChannels);
+        history = new float[maxInputSamples + 2 * taps];
+        reset();
+    }
+
+    /**
+     * Clears the filter state (call between unrelated streams).
+     */
+    public void reset() {
+        // Start with half a filter of silence so the first samples can be centred
+        historyLength = halfWidth;
+        Arrays.fill(history, 0, historyLength, 0f);
+        time = halfWidth - 1;
+    }
+
+    /**
+     * Gets the largest number of output bytes one call can produce for a given input size.
+     */
+    public int maxOutputBytes(int inputBytes) {
+        return ((int) Math.ceil(inputBytes / (2.0 * inChannels) / step) + 2) * 2;
+    }
+
+    /**
+     * Converts a chunk of input PCM.
+     *
+     * @param in Input PCM (16-bit little-endian, interleaved)
+     * @param length Valid bytes in {@code in}
+     * @param out Output buffer for 16-bit little-endian mono PCM
+     * @return Number of bytes written to {@code out}
+     */
+    public int process(byte[] in, int length, byte[] out) {
+        int frameBytes = 2 * inChannels;
+        int frames = length / frameBytes;
+        if (historyLength + frames > history.length) {
+            history = Arrays.copyOf(history, historyLength + frames);
+        }
+        for (int f = 0; f < frames; f++) {
+            int sum = 0;
+            int base = f * frameBytes;
+            for (int c = 0; c < inChannels; c++) {
+                sum += (short) ((in[base + 2 * c] & 0xFF) | (in[base + 2 * c + 1] << 8));
+            }
+            history[historyLength++] = sum / (float) inChannels;
+        }
+
+        int written = 0;
+        while (time + halfWidth < historyLength && written + 2 <= out.length) {
+            int center = (int) time;
+            double phasePos = (time - center) * PHASES;
+            int phase = (int) phasePos;
+            float blend = (float) (phasePos - phase);
+            float[] a = table[phase];
+            float[] b = table[phase + 1];
+
+            float acc = 0;
+            int start = center - halfWidth + 1;
+            for (int k = 0; k < a.length; k++) {
+                float coeff = a[k] + blend * (b[k] - a[k]);
+                acc += coeff * history[start + k];
+            }
+            int sample = Math.round(acc);
+            sample = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, sample));
+            out[written++] = (byte) sample;
+            out[written++] = (byte) (sample >> 8);
+            time += step;
+        }
+
+        // Drop input that no future output sample can reach
+        int consumed = Math.max(0, (int) time - halfWidth + 1);
+        if (consumed > 0) {
+            System.arraycopy(history, consumed, history, 0, historyLength - consumed);
+            historyLength -= consumed;
+            time -= consumed;
+        }
+        return written;
+    }
+
+    /**
+     * Zeroth-order modified Bessel function (for the Kaiser window).
+     */
+    private static double besselI0(double x) {
+        double sum = 1;
+        double term = 1;
+        for (int k = 1; k < 50; k++) {
+            term *= (x / (2 * k)) * (x / (2 * k));
+            sum += term;
+            if (term < 1e-12 * sum) {
+                break;
+            }
+        }
+        return sum;
+    }
+}
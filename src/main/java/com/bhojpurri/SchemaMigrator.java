@@ -0,0 +1,113 @@
+package com.bhojpurri;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Applies ordered schema migrations and records them in a schema_version table.
+ * A database that is already current costs a single primary-key lookup
+ * (MAX(version)); the table is only created, and migrations only run, when
+ * something is pending.
+ */
+public class SchemaMigrator {
+    private static final Logger logger = LoggerFactory.getLogger(SchemaMigrator.class);
+
+    /**
+     * One schema change. Steps run once, so they may inspect the schema freely.
+     */
+    public interface Step {
+        void apply(Statement stmt) throws SQLException;
+    }
+
+    /**
+     * A numbered migration; versions must be listed in ascending order.
+     */
+    public static final class Migration {
+        final int version;
+        final String description;
+        final Step step;
+
+        Migration(int version, String description, Step step) {
+            this.version = version;
+            this.description = description;
+            this.step = step;
+        }
+    }
+
+    public static Migration migration(int version, String description, Step step) {
+        return new Migration(version, description, step);
+    }
+
+    private SchemaMigrator() {
+    }
+
+    /**
+     * Brings the schema up to date.
+     *
+     * @return The schema version after migrating
+     */
+    public static int migrate(Connection connection, List<Migration> migrations) throws SQLException {
+        int latest = migrations.isEmpty() ? 0 : migrations.get(migrations.size() - 1).version;
+        int current = currentVersion(connection);
+        if (current >= latest) {
+            logger.debug("Schema is current (version {})", current);
+            return current;
+        }
+
+        try (Statement stmt = connection.createStatement();
+             PreparedStatement record = connection.prepareStatement(
+                 "INSERT INTO schema_version (version, description) VALUES (?, ?)")) {
+            for (Migration migration : migrations) {
+                if (migration.version <= current) {
+                    continue;
+                }
+                long start = System.currentTimeMillis();
+                migration.step.apply(stmt);
+                // DDL commits implicitly on MySQL, so each step is recorded as soon as it succeeds
+                record.setInt(1, migration.version);
+                record.setString(2, migration.description);
+                record.executeUpdate();
+                current = migration.version;
+                logger.info("🛠️ Schema migration {} applied: {} ({} ms)",
+                    migration.version, migration.description, System.currentTimeMillis() - start);
+            }
+        }
+        return current;
+    }
+
+    private static int currentVersion(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MAX(version) FROM schema_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        } catch (SQLException e) {
+            if (!isTableMissing(e)) {
+                throw e; // E.g. a dropped connection: re-running every migration would fail anyway
+            }
+            // No version table yet: a fresh database, or one from before versioned migrations
+            try (Statement stmt = connection.createStatement()) {
+                stmt.executeUpdate(
+                    "CREATE TABLE IF NOT EXISTS schema_version (" +
+                    "  version INT PRIMARY KEY," +
+                    "  description VARCHAR(200)," +
+                    "  applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP" +
+                    ")");
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Whether the error means "table does not exist" (MySQL 1146, H2 42102-42104).
+     */
+    private static boolean isTableMissing(SQLException e) {
+        int code = e.getErrorCode();
+        return "42S02".equals(e.getSQLState()) || code == 1146 || (code >= 42102 && code <= 42104);
+    }
+}
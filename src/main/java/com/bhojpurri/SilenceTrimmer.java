@@ -0,0 +1,196 @@
+package com.bhojpurri;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Streaming PCM silence trimmer for TTS playback.
+ * Drops leading and trailing silence from decoded 16-bit samples before they
+ * reach the sound card. Works chunk by chunk on a reused hold buffer, so the
+ * steady-state playback path does not allocate.
+ */
+public class SilenceTrimmer {
+    private static final Logger logger = LoggerFactory.getLogger(SilenceTrimmer.class);
+
+    // Defaults (overridable through .env)
+    private static final int DEFAULT_THRESHOLD = 500;      // ~ -36 dBFS
+    private static final int DEFAULT_PADDING_MS = 60;      // Keep a little air around speech
+    private static final int DEFAULT_MAX_HOLD_MS = 2000;   // Longest pause we can still trim at the end
+
+    // Trimmed milliseconds per TTS provider (e.g. "elevenlabs", "google")
+    private static final Map<String, AtomicLong> trimmedMillisByProvider = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicLong> clipsByProvider = new ConcurrentHashMap<>();
+
+    /**
+     * Receives the samples that survive trimming.
+     */
+    public interface PcmSink {
+        void write(short[] samples, int offset, int length) throws Exception;
+    }
+
+    private final boolean enabled;
+    private final int threshold;
+    private final int paddingMs;
+    private final int maxHoldMs;
+
+    // Reused between clips
+    private short[] hold = new short[0];
+    private int holdLength;
+    private int sampleRate;
+    private int channels;
+    private int paddingSamples;
+    private boolean voiceSeen;
+    private long trimmedSamples;
+
+    public SilenceTrimmer() {
+        this(EnvLoader.getBoolean("TTS_TRIM_ENABLED", true),
+             EnvLoader.getInt("TTS_TRIM_THRESHOLD", DEFAULT_THRESHOLD),
+             EnvLoader.getInt("TTS_TRIM_PADDING_MS", DEFAULT_PADDING_MS),
+             EnvLoader.getInt("TTS_TRIM_MAX_HOLD_MS", DEFAULT_MAX_HOLD_MS));
+    }
+
+    /**
+     * @param enabled Whether trimming is active (when false every sample is passed through)
+     * @param threshold Absolute sample amplitude (0-32767) below which audio counts as silence
+     * @param paddingMs Silence kept before the first and after the last voiced chunk
+     * @param maxHoldMs Longest run of silence buffered while waiting to see if the clip has ended
+     */
+    public SilenceTrimmer(boolean enabled, int threshold, int paddingMs, int maxHoldMs) {
+        this.enabled = enabled;
+        this.threshold = Math.max(0, Math.min(threshold, Short.MAX_VALUE));
+        this.paddingMs = Math.max(0, paddingMs);
+        this.maxHoldMs = Math.max(this.paddingMs, maxHoldMs);
+    }
+
+    /**
+     * Prepares the trimmer for a new clip. Grows the hold buffer only if the
+     * new format needs more room than any clip seen before.
+     *
+     * @param sampleRate Output sample rate in Hz
+     * @param channels Number of interleaved channels
+     * @param maxChunkSamples Largest chunk (in shorts) that will be passed to {@link #process}
+     */
+    public void begin(int sampleRate, int channels, int maxChunkSamples) {
+        this.sampleRate = sampleRate;
+        this.channels = Math.max(1, channels);
+        this.paddingSamples = msToSamples(paddingMs);
+        int capacity = Math.max(msToSamples(maxHoldMs), paddingSamples) + 2 * maxChunkSamples;
+        if (hold.length < capacity) {
+            hold = new short[capacity];
+        }
+        this.holdLength = 0;
+        this.voiceSeen = false;
+        this.trimmedSamples = 0;
+    }
+
+    /**
+     * Feeds one decoded chunk through the trimmer.
+     */
+    public void process(short[] samples, int length, PcmSink sink) throws Exception {
+        if (!enabled) {
+            sink.write(samples, 0, length);
+            return;
+        }
+
+        if (isVoiced(samples, length)) {
+            // Release the buffered silence (pre-roll padding or an internal pause), then the voice
+            flushHold(sink);
+            sink.write(samples, 0, length);
+            voiceSeen = true;
+            return;
+        }
+
+        if (!voiceSeen) {
+            // Leading silence: only the last paddingSamples are worth keeping
+            appendToHold(samples, length);
+            if (holdLength > paddingSamples) {
+                int drop = alignToFrame(holdLength - paddingSamples);
+                System.arraycopy(hold, drop, hold, 0, holdLength - drop);
+                holdLength -= drop;
+                trimmedSamples += drop;
+            }
+            return;
+        }
+
+        // Possible trailing silence: buffer it until we know whether more speech follows
+        if (holdLength + length > hold.length) {
+            flushHold(sink);
+        }
+        appendToHold(samples, length);
+    }
+
+    /**
+     * Ends the current clip, dropping whatever trailing silence is still held.
+     *
+     * @param provider Source of the clip, used for per-provider statistics (may be null)
+     * @return Milliseconds of silence removed from this clip
+     */
+    public long finish(String provider, PcmSink sink) throws Exception {
+        if (enabled && holdLength > 0) {
+            int keep = voiceSeen ? Math.min(holdLength, paddingSamples) : 0;
+            if (keep > 0) {
+                sink.write(hold, 0, keep);
+            }
+            trimmedSamples += holdLength - keep;
+            holdLength = 0;
+        }
+
+        long trimmedMs = sampleRate > 0 ? trimmedSamples * 1000L / ((long) sampleRate * channels) : 0;
+        if (provider != null) {
+            trimmedMillisByProvider.computeIfAbsent(provider, k -> new AtomicLong()).addAndGet(trimmedMs);
+            clipsByProvider.computeIfAbsent(provider, k -> new AtomicLong()).incrementAndGet();
+        }
+        logger.info("Trimmed {} ms of silence from {} clip", trimmedMs, provider != null ? provider : "unknown");
+        return trimmedMs;
+    }
+
+    /**
+     * Gets a snapshot of "provider -> total trimmed ms / clips" for logging.
+     */
+    public static Map<String, String> getStatsSnapshot() {
+        Map<String, String> snapshot = new TreeMap<>();
+        for (Map.Entry<String, AtomicLong> entry : trimmedMillisByProvider.entrySet()) {
+            AtomicLong clips = clipsByProvider.get(entry.getKey());
+            long count = clips != null ? clips.get() : 0;
+            long total = entry.getValue().get();
+            snapshot.put(entry.getKey(), total + " ms over " + count + " clips (avg "
+                + (count > 0 ? total / count : 0) + " ms)");
+        }
+        return snapshot;
+    }
+
+    private boolean isVoiced(short[] samples, int length) {
+        for (int i = 0; i < length; i++) {
+            int s = samples[i];
+            if (s >= threshold || -s >= threshold) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void appendToHold(short[] samples, int length) {
+        System.arraycopy(samples, 0, hold, holdLength, length);
+        holdLength += length;
+    }
+
+    private void flushHold(PcmSink sink) throws Exception {
+        if (holdLength > 0) {
+            sink.write(hold, 0, holdLength);
+            holdLength = 0;
+        }
+    }
+
+    private int msToSamples(int ms) {
+        return alignToFrame((int) ((long) sampleRate * channels * ms / 1000));
+    }
+
+    private int alignToFrame(int samples) {
+        return samples - (samples % Math.max(1, channels));
+    }
+}
@@ -0,0 +1,130 @@
+package com.bhojpurri;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Background job that deletes orphaned speech files: TTS audio that no
+ * translation points at (its save failed, the utterance failed after
+ * synthesis, or the app stopped before saving), plus index sidecars whose
+ * MP3 is gone. Files of saved translations are left alone so the history can
+ * still play them; they are deleted when {@link HistoryRetention} purges the row.
+ * Runs shortly after start-up and then every TTS_SWEEP_MINUTES; 0 turns it off.
+ */
+public class SpeechFileSweeper implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(SpeechFileSweeper.class);
+
+    private static final int DEFAULT_INTERVAL_MINUTES = 60;
+    private static final int DEFAULT_GRACE_MINUTES = 30;   // Younger files may still be on their way to the database
+    private static final int INITIAL_DELAY_SECONDS = 90;   // Keep start-up free for the UI
+
+    private final TranslationRepository dbManager;
+    private final Path directory;
+    private final long graceMillis;
+    private final ScheduledExecutorService scheduler;
+
+    public SpeechFileSweeper(TranslationRepository dbManager) {
+        this.dbManager = dbManager;
+        this.directory = Paths.get(TTSManager.OUTPUT_DIRECTORY);
+        this.graceMillis = TimeUnit.MINUTES.toMillis(
+            Math.max(1, EnvLoader.getInt("TTS_SWEEP_GRACE_MINUTES", DEFAULT_GRACE_MINUTES)));
+        int intervalMinutes = EnvLoader.getInt("TTS_SWEEP_MINUTES", DEFAULT_INTERVAL_MINUTES);
+        if (intervalMinutes <= 0) {
+            logger.info("Speech file sweep disabled");
+            this.scheduler = null;
+            return;
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "speech-sweep");
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::runOnce,
+            INITIAL_DELAY_SECONDS, TimeUnit.MINUTES.toSeconds(intervalMinutes), TimeUnit.SECONDS);
+    }
+
+    /**
+     * Deletes orphaned speech files older than the grace period.
+     *
+     * @return Number of files deleted, or -1 if the sweep failed
+     */
+    public int runOnce() {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        long cutoff = System.currentTimeMillis() - graceMillis;
+        List<String> candidates = new ArrayList<>();
+        List<Path> strayIndexes = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                String name = file.getFileName().toString();
+                if (name.endsWith(".mp3") && lastModified(file) < cutoff) {
+                    candidates.add(file.toAbsolutePath().toString()); // TTSManager stores absolute paths
+                } else if (name.endsWith(".mp3.idx")
+                        && !Files.exists(file.resolveSibling(name.substring(0, name.length() - 4)))) {
+                    strayIndexes.add(file);
+                }
+            });
+
+            Set<String> referenced = dbManager.findReferencedTtsFiles(candidates);
+            int deleted = 0;
+            for (String path : candidates) {
+                if (!referenced.contains(path)) {
+                    Path mp3 = Paths.get(path);
+                    deleted += delete(mp3) + delete(Mp3FrameIndex.sidecarFor(mp3));
+                }
+            }
+            for (Path index : strayIndexes) {
+                deleted += delete(index);
+            }
+            if (deleted > 0) {
+                logger.info("🧹 Deleted {} orphaned speech files ({} kept for the history)",
+                    deleted, referenced.size());
+            }
+            return deleted;
+        } catch (IOException | UncheckedIOException | SQLException e) {
+            // Caught so one failed run does not cancel the schedule
+            logger.warn("⚠️ Speech file sweep failed: {}", e.getMessage());
+            return -1;
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return Long.MAX_VALUE; // Unknown age: leave it for the next run
+        }
+    }
+
+    private static int delete(Path file) {
+        try {
+            return Files.deleteIfExists(file) ? 1 : 0;
+        } catch (IOException e) {
+            logger.warn("Failed to delete old file: {}", file);
+            return 0;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -2,13 +2,15 @@ package com.bhojpurri;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
-import javax.sound.sampled.AudioFileFormat;
 import javax.sound.sampled.AudioFormat;
-import javax.sound.sampled.AudioInputStream;
 import javax.sound.sampled.AudioSystem;
 import javax.sound.sampled.DataLine;
+import javax.sound.sampled.Line;
 import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.Mixer;
 import javax.sound.sampled.TargetDataLine;
 
 import org.slf4j.Logger;
@@ -16,33 +18,98 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Handles audio recording from the microphone.
- * Records audio in WAV format for processing.
+ * In memory mode (default) audio is captured into a preallocated ring buffer and
+ * handed to the upload stage directly; the archival WAV is written in the background.
+ * In file mode audio is streamed into a WAV file as before.
+ * Each recording is a separate {@link RecordingSessionManager.RecordingSession} with its own file.
+ * With RECORDER_ALWAYS_OPEN the microphone stays open between recordings and feeds
+ * a short pre-roll buffer, so pressing SPACE starts instantly and keeps the first syllable.
+ * While the microphone is open every chunk can also be observed by a {@link FrameListener}
+ * (hands-free mode segments utterances this way).
+ * Audio is captured at 16 kHz mono (what Whisper uses) when the device supports it;
+ * otherwise the line runs at a native rate and the capture thread resamples.
  */
 public class SpeechRecorder {
     private static final Logger logger = LoggerFactory.getLogger(SpeechRecorder.class);
+
+    /**
+     * Observes raw capture chunks while the microphone is open.
+     * Called on the capture thread, so it must never block.
+     */
+    public interface FrameListener {
+        /**
+         * @param pcm Chunk of PCM in the capture format (reused after the call returns)
+         * @param length Number of valid bytes
+         */
+        void onFrames(byte[] pcm, int length);
+    }
     
     private TargetDataLine line;
     private Thread recordingThread;
-    private File outputFile;
+    private volatile WavWriter fileWriter;        // File mode: the capture thread streams into it
+    private volatile IOException fileWriteError;
+    private final RecordingSessionManager sessions;
+    private RecordingSessionManager.RecordingSession currentSession;
+    private RecordingSessionManager.RecordingSession lastSession;
     private volatile boolean isRecording = false;
 
-    // Audio format settings - 44.1kHz is more standard than 16kHz
-    private static final float SAMPLE_RATE = 44100.0F;
+    // Audio format settings - 16kHz is all Whisper needs (it resamples anything else to it)
+    private static final int DEFAULT_SAMPLE_RATE = 16000;
     private static final int SAMPLE_SIZE_BITS = 16;
     private static final int CHANNELS = 1; // Mono
     private static final boolean SIGNED = true;
     private static final boolean BIG_ENDIAN = false; // Little-endian for better compatibility
+    
+    // Native rates tried (in order) when the device cannot capture at the target rate
+    private static final float[] FALLBACK_RATES = {48000.0F, 44100.0F, 32000.0F, 96000.0F, 22050.0F};
+    
+    private final AudioFormat captureFormat;  // Format handed to every downstream stage
+    private AudioFormat lineFormat;           // Format the microphone actually delivers
+    private Resampler resampler;              // Only when lineFormat differs from captureFormat
+    
+    // In-memory capture settings
+    private static final int CHUNK_MILLIS = 20;         // Bytes read from the line per loop
+    private static final int DEFAULT_MAX_SECONDS = 60;  // Longest recording; later audio is not kept
+    private static final int DEFAULT_PREROLL_MS = 300;  // Audio kept from before SPACE was pressed
+    
+    private final boolean memoryMode;
+    private final boolean archiveWav;
+    private final boolean alwaysOpen;
+    private final int preRollMillis;
+    private PcmRingBuffer ringBuffer;   // Allocated on first use, reused afterwards
+    private PcmRingBuffer preRoll;      // Always-open mode only
+    private final VoiceActivityDetector vad = new VoiceActivityDetector();
+    private byte[] lineChunk;           // Raw reads from the line
+    private byte[] chunk;               // Capture-format audio (same array as lineChunk without resampling)
+    
+    // Guards ring/pre-roll hand-over between the capture thread and start/stop
+    private final Object captureLock = new Object();
+    private volatile boolean micOpen = false;
+    private boolean sessionFromOpenMic = false;
+    private volatile FrameListener frameListener;
+    private volatile Runnable limitListener;
+    private volatile boolean limitReached = false; // This recording hit RECORDER_MAX_SECONDS
+    
+    // Live levels for the UI meter (capture thread publishes, EDT drains)
+    private static final int LEVEL_SLOTS = 64;
+    private static final int LEVEL_POINTS_PER_CHUNK = 4;
+    private final LevelMeterRing levelRing = new LevelMeterRing(LEVEL_SLOTS, LEVEL_POINTS_PER_CHUNK);
 
     public SpeechRecorder() {
-        // Create output directory if it doesn't exist
-        File outputDir = new File("audio_recordings");
-        if (!outputDir.exists()) {
-            outputDir.mkdirs();
+        this.captureFormat = new AudioFormat(EnvLoader.getInt("RECORDER_SAMPLE_RATE", DEFAULT_SAMPLE_RATE),
+            SAMPLE_SIZE_BITS, CHANNELS, SIGNED, BIG_ENDIAN);
+        this.alwaysOpen = EnvLoader.getBoolean("RECORDER_ALWAYS_OPEN", false);
+        this.preRollMillis = EnvLoader.getInt("RECORDER_PREROLL_MS", DEFAULT_PREROLL_MS);
+        boolean fileMode = "file".equalsIgnoreCase(EnvLoader.get("RECORDER_CAPTURE_MODE", "memory"));
+        if (fileMode && alwaysOpen) {
+            logger.warn("RECORDER_ALWAYS_OPEN needs memory capture - ignoring RECORDER_CAPTURE_MODE=file");
         }
+        this.memoryMode = alwaysOpen || !fileMode;
+        this.archiveWav = EnvLoader.getBoolean("RECORDER_ARCHIVE_WAV", true);
+        logger.info("Recorder capture mode: {} (archive WAV: {}, always open: {})",
+            memoryMode ? "memory" : "file", archiveWav, alwaysOpen);
         
-        // Generate unique filename with timestamp
-        String timestamp = String.valueOf(System.currentTimeMillis());
-        outputFile = new File(outputDir, "recording_" + timestamp + ".wav");
+        this.sessions = new RecordingSessionManager(new File("audio_recordings"));
     }
 
     /**
@@ -54,44 +121,45 @@ public class SpeechRecorder {
             return;
         }
 
+        if (alwaysOpen || micOpen) {
+            startFromOpenMicrophone();
+            return;
+        }
+
         try {
-            // Define audio format
-            AudioFormat format = new AudioFormat(
-                SAMPLE_RATE, 
-                SAMPLE_SIZE_BITS, 
-                CHANNELS, 
-                SIGNED, 
-                BIG_ENDIAN
-            );
-
-            // Get and open the line
-            DataLine.Info info = new DataLine.Info(TargetDataLine.class, format);
+            line = openLine();
             
-            if (!AudioSystem.isLineSupported(info)) {
-                throw new LineUnavailableException("Microphone not supported");
+            if (memoryMode) {
+                allocateBuffers(false);
+                ringBuffer.clear();
+                limitReached = false;
+            } else {
+                allocateChunks();
             }
-
-            line = (TargetDataLine) AudioSystem.getLine(info);
-            line.open(format);
-            line.start();
             
-            isRecording = true;
-            logger.info("Recording started to file: {}", outputFile.getAbsolutePath());
-
-            // Start recording in a separate thread
-            recordingThread = new Thread(() -> {
-                try (AudioInputStream audioInputStream = new AudioInputStream(line)) {
-                    AudioSystem.write(
-                        audioInputStream, 
-                        AudioFileFormat.Type.WAVE, 
-                        outputFile
-                    );
+            // Every utterance gets its own session and file
+            final RecordingSessionManager.RecordingSession session = sessions.begin();
+            if (!memoryMode) {
+                try {
+                    fileWriter = WavWriter.create(session.getFile().toPath(), captureFormat);
+                    fileWriteError = null;
                 } catch (IOException e) {
-                    if (isRecording) {
-                        logger.error("Error during recording", e);
-                    }
+                    line.close();
+                    sessions.failed(session, e);
+                    logger.error("Cannot create recording file", e);
+                    throw new RuntimeException("Cannot create recording file: " + e.getMessage(), e);
                 }
-            });
+            }
+            
+            line.start();
+            currentSession = session;
+            sessionFromOpenMic = false;
+            
+            isRecording = true;
+            logger.info("Recording started ({}): {}", memoryMode ? "memory" : "file", session.getFile().getAbsolutePath());
+
+            // Start recording in a separate thread (memory mode fills the ring, file mode streams to disk)
+            recordingThread = new Thread(() -> captureLoop(false), "mic-capture");
             recordingThread.start();
 
         } catch (LineUnavailableException e) {
@@ -100,6 +168,198 @@ public class SpeechRecorder {
         }
     }
 
+    /**
+     * Opens the microphone and keeps it capturing into the pre-roll buffer
+     * until {@link #close()} is called. Called automatically on the first
+     * recording in always-open mode; call it at start-up to avoid even that delay.
+     * Hands-free mode also opens the microphone this way.
+     */
+    public synchronized void openMicrophone() {
+        if (micOpen) {
+            return;
+        }
+        if (isRecording) {
+            throw new IllegalStateException("Cannot open the microphone during a push-to-talk recording");
+        }
+        try {
+            line = openLine();
+            allocateBuffers(true);
+            line.start();
+            micOpen = true;
+            recordingThread = new Thread(() -> captureLoop(true), "mic-capture");
+            recordingThread.setDaemon(true);
+            recordingThread.start();
+            logger.info("🎙️ Microphone open (pre-roll {} ms)", preRollMillis);
+        } catch (LineUnavailableException e) {
+            logger.error("Microphone line unavailable", e);
+            throw new RuntimeException("Cannot access microphone: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Closes an always-open microphone.
+     */
+    public synchronized void close() {
+        if (!micOpen) {
+            return;
+        }
+        micOpen = false;
+        line.stop();
+        try {
+            recordingThread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        line.close();
+        logger.info("🎙️ Microphone closed");
+    }
+
+    /**
+     * Always-open start: no line to open, just seed the recording with the
+     * last few hundred milliseconds of pre-roll and start appending live audio.
+     */
+    private void startFromOpenMicrophone() {
+        openMicrophone();
+        RecordingSessionManager.RecordingSession session = sessions.begin();
+        currentSession = session;
+        sessionFromOpenMic = true;
+        synchronized (captureLock) {
+            ringBuffer.clear();
+            limitReached = false;
+            int preRollBytes = bytesFor(preRollMillis);
+            preRoll.appendLastTo(ringBuffer, preRollBytes);
+            isRecording = true;
+        }
+        logger.info("Recording started (always open, with pre-roll): {}", session.getFile().getAbsolutePath());
+    }
+
+    /**
+     * Opens a TargetDataLine, negotiating its format on first use.
+     * The capture format is preferred; if the device cannot deliver it, the first
+     * native 16-bit format that opens is used and the capture thread resamples.
+     */
+    private TargetDataLine openLine() throws LineUnavailableException {
+        if (lineFormat != null) {
+            TargetDataLine newLine = (TargetDataLine) AudioSystem.getLine(new DataLine.Info(TargetDataLine.class, lineFormat));
+            newLine.open(lineFormat);
+            if (resampler != null) {
+                resampler.reset();
+            }
+            return newLine;
+        }
+
+        logSupportedFormats();
+        LineUnavailableException lastError = null;
+        for (AudioFormat candidate : candidateLineFormats()) {
+            DataLine.Info info = new DataLine.Info(TargetDataLine.class, candidate);
+            if (!AudioSystem.isLineSupported(info)) {
+                continue;
+            }
+            try {
+                TargetDataLine newLine = (TargetDataLine) AudioSystem.getLine(info);
+                newLine.open(candidate);
+                useLineFormat(candidate);
+                return newLine;
+            } catch (LineUnavailableException | IllegalArgumentException e) {
+                logger.debug("Microphone refused {}: {}", candidate, e.getMessage());
+                if (e instanceof LineUnavailableException) {
+                    lastError = (LineUnavailableException) e;
+                }
+            }
+        }
+        if (lastError != null) {
+            throw lastError;
+        }
+        throw new LineUnavailableException("Microphone not supported");
+    }
+
+    /**
+     * Line formats to try, best first: the capture format itself, then native
+     * rates in mono and stereo (both converted by the {@link Resampler}).
+     */
+    private List<AudioFormat> candidateLineFormats() {
+        List<AudioFormat> candidates = new ArrayList<>();
+        candidates.add(captureFormat);
+        for (int channels = 1; channels <= 2; channels++) {
+            for (float rate : FALLBACK_RATES) {
+                if (channels == CHANNELS && rate == captureFormat.getSampleRate()) {
+                    continue;
+                }
+                candidates.add(new AudioFormat(rate, SAMPLE_SIZE_BITS, channels, SIGNED, BIG_ENDIAN));
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Records the negotiated line format and sets up resampling if it is needed.
+     */
+    private void useLineFormat(AudioFormat format) {
+        lineFormat = format;
+        if (format.getSampleRate() == captureFormat.getSampleRate() && format.getChannels() == captureFormat.getChannels()) {
+            resampler = null;
+            logger.info("🎙️ Capturing natively at {}", captureFormat);
+        } else {
+            int lineChunkBytes = lineBytesFor(CHUNK_MILLIS);
+            resampler = new Resampler(format.getSampleRate(), format.getChannels(),
+                captureFormat.getSampleRate(), lineChunkBytes);
+            logger.info("🎙️ Microphone does not support {} - capturing at {} and resampling", captureFormat, format);
+        }
+    }
+
+    /**
+     * Logs the 16-bit capture formats each mixer advertises (useful when a device misbehaves).
+     */
+    private void logSupportedFormats() {
+        if (!logger.isDebugEnabled()) {
+            return;
+        }
+        for (Mixer.Info mixerInfo : AudioSystem.getMixerInfo()) {
+            Mixer mixer = AudioSystem.getMixer(mixerInfo);
+            for (Line.Info lineInfo : mixer.getTargetLineInfo()) {
+                if (lineInfo instanceof DataLine.Info) {
+                    for (AudioFormat format : ((DataLine.Info) lineInfo).getFormats()) {
+                        if (format.getSampleSizeInBits() == SAMPLE_SIZE_BITS) {
+                            logger.debug("Mixer '{}' supports {}", mixerInfo.getName(), format);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Allocates the capture buffers once; later recordings reuse them.
+     */
+    private void allocateBuffers(boolean withPreRoll) {
+        if (ringBuffer == null) {
+            int maxSeconds = EnvLoader.getInt("RECORDER_MAX_SECONDS", DEFAULT_MAX_SECONDS);
+            ringBuffer = new PcmRingBuffer(maxSeconds * bytesFor(1000));
+        }
+        allocateChunks();
+        if (withPreRoll && preRoll == null) {
+            preRoll = new PcmRingBuffer(Math.max(bytesFor(preRollMillis), chunk.length));
+        }
+    }
+
+    /**
+     * Allocates the line and capture-format chunk buffers (all file mode needs).
+     */
+    private void allocateChunks() {
+        if (lineChunk == null) {
+            lineChunk = new byte[lineBytesFor(CHUNK_MILLIS)];
+            chunk = resampler != null ? new byte[resampler.maxOutputBytes(lineChunk.length)] : lineChunk;
+        }
+    }
+
+    private int bytesFor(int millis) {
+        return (int) (captureFormat.getFrameRate() * millis / 1000) * captureFormat.getFrameSize();
+    }
+
+    private int lineBytesFor(int millis) {
+        return (int) (lineFormat.getFrameRate() * millis / 1000) * lineFormat.getFrameSize();
+    }
+
     /**
      * Stops recording and returns the path to the recorded file.
      * @return Absolute path to the recorded WAV file
@@ -110,9 +370,24 @@ public class SpeechRecorder {
             return null;
         }
 
+        RecordingSessionManager.RecordingSession session = currentSession;
+        currentSession = null;
+        lastSession = session;
+        
         try {
+            if (sessionFromOpenMic) {
+                synchronized (captureLock) {
+                    isRecording = false;
+                }
+                return finishMemoryCapture(session);
+            }
+            
             isRecording = false;
             
+            if (memoryMode) {
+                return finishMemoryCapture(session);
+            }
+            
             if (line != null) {
                 line.stop();
                 line.close();
@@ -121,9 +396,26 @@ public class SpeechRecorder {
 
             if (recordingThread != null) {
                 recordingThread.join(2000); // Wait up to 2 seconds for thread to finish
+                if (recordingThread.isAlive()) {
+                    // It may still be writing, so the writer cannot be closed under it.
+                    // The header is patched by WavWriter.recover on the next start.
+                    logger.error("Capture thread did not stop - leaving {} unfinished", session.getFile().getName());
+                    throw new IOException("Capture thread did not stop in time");
+                }
+            }
+
+            // Patch the header lengths now that the total is known
+            WavWriter writer = fileWriter;
+            fileWriter = null;
+            if (writer != null) {
+                writer.close();
+            }
+            if (fileWriteError != null) {
+                throw fileWriteError;
             }
 
             // Verify file was created
+            File outputFile = session.getFile();
             if (outputFile.exists() && outputFile.length() > 0) {
                 logger.info("Recording saved successfully: {} ({} bytes)", 
                     outputFile.getAbsolutePath(), outputFile.length());
@@ -133,6 +425,7 @@ public class SpeechRecorder {
                 System.out.println("   File size: " + outputFile.length() + " bytes");
                 System.out.println("   Play it with: start " + outputFile.getAbsolutePath());
                 
+                sessions.capturedToFile(session);
                 return outputFile.getAbsolutePath();
             } else {
                 throw new IOException("Recording file was not created or is empty");
@@ -141,17 +434,224 @@ public class SpeechRecorder {
         } catch (InterruptedException e) {
             logger.error("Recording thread interrupted", e);
             Thread.currentThread().interrupt();
+            sessions.failed(session, e);
             return null;
         } catch (IOException e) {
             logger.error("Error saving recording", e);
+            sessions.failed(session, e);
             return null;
-        } finally {
-            // Generate new filename for next recording
-            String timestamp = String.valueOf(System.currentTimeMillis());
-            outputFile = new File("audio_recordings", "recording_" + timestamp + ".wav");
         }
     }
 
+    /**
+     * Capture loop for memory mode: reads fixed-size chunks from the line into
+     * the ring buffer (and the pre-roll buffer when the microphone stays open).
+     * Runs on the capture thread.
+     *
+     * @param openMic true while the microphone stays open between recordings
+     */
+    private void captureLoop(boolean openMic) {
+        while (openMic ? micOpen : isRecording) {
+            int read = line.read(lineChunk, 0, lineChunk.length);
+            if (read > 0 && resampler != null) {
+                read = resampler.process(lineChunk, read, chunk);
+            }
+            if (read <= 0) {
+                continue;
+            }
+            levelRing.publish(chunk, read);
+            if (!openMic) {
+                if (memoryMode) {
+                    appendToRecording(chunk, read);
+                    continue;
+                }
+                WavWriter writer = fileWriter; // Read once: stopRecording clears it
+                if (writer == null) {
+                    return;
+                }
+                try {
+                    writer.write(chunk, 0, read);
+                } catch (IOException e) {
+                    logger.error("Error during recording", e);
+                    fileWriteError = e;
+                    return;
+                }
+                continue;
+            }
+            synchronized (captureLock) {
+                if (isRecording) {
+                    appendToRecording(chunk, read);
+                }
+                preRoll.write(chunk, 0, read);
+            }
+            FrameListener listener = frameListener;
+            if (listener != null) {
+                try {
+                    listener.onFrames(chunk, read);
+                } catch (RuntimeException e) {
+                    logger.error("Frame listener failed", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds live audio to the recording until it holds RECORDER_MAX_SECONDS.
+     * Past that the rest is dropped, so the start of what was said is kept,
+     * and the limit listener is told once. Runs on the capture thread.
+     */
+    private void appendToRecording(byte[] pcm, int length) {
+        int room = ringBuffer.capacity() - ringBuffer.size();
+        if (length <= room) {
+            ringBuffer.write(pcm, 0, length);
+            return;
+        }
+        ringBuffer.write(pcm, 0, room - room % captureFormat.getFrameSize());
+        if (!limitReached) {
+            limitReached = true;
+            logger.warn("Recording reached the {} s limit (RECORDER_MAX_SECONDS) - ignoring the rest", getMaxSeconds());
+            Runnable listener = limitListener;
+            if (listener != null) {
+                listener.run();
+            }
+        }
+    }
+
+    private int getMaxSeconds() {
+        return ringBuffer.capacity() / (int) captureFormat.getFrameRate() / captureFormat.getFrameSize();
+    }
+
+    /**
+     * Snapshots the ring buffer into a direct buffer and schedules the archival
+     * WAV write in the background. Outside always-open mode the line is stopped
+     * and closed first.
+     * @return Path of the archival WAV (it may not be written yet)
+     */
+    private String finishMemoryCapture(RecordingSessionManager.RecordingSession session) throws InterruptedException {
+        if (!sessionFromOpenMic) {
+            if (line != null) {
+                line.stop(); // Unblocks the capture thread's read()
+            }
+            if (recordingThread != null) {
+                recordingThread.join(2000);
+            }
+            if (line != null) {
+                line.close();
+            }
+        }
+        logger.info("Recording stopped");
+
+        if (limitReached) {
+            System.out.println("⚠️ Recording was cut at " + getMaxSeconds() + " s (RECORDER_MAX_SECONDS)");
+        }
+
+        BufferPool.Lease pcm = BufferPool.shared().lease(ringBuffer.size());
+        ringBuffer.copyTo(pcm.buffer());
+        pcm.buffer().flip();
+
+        storeCapture(session, pcm);
+        return session.getFile().getAbsolutePath();
+    }
+
+    /**
+     * Turns audio segmented outside a push-to-talk recording (hands-free mode)
+     * into a session of its own, exactly like a SPACE recording.
+     *
+     * @param pcm Pooled PCM in the capture format (position 0, limit = length); ownership passes to the session
+     * @return The new session, already captured and queued for archival
+     */
+    public RecordingSessionManager.RecordingSession captureUtterance(BufferPool.Lease pcm) {
+        RecordingSessionManager.RecordingSession session = sessions.begin();
+        storeCapture(session, pcm);
+        return session;
+    }
+
+    /**
+     * Trims silence, wraps the audio as a {@link CapturedAudio} and queues the archival write.
+     */
+    private CapturedAudio storeCapture(RecordingSessionManager.RecordingSession session, BufferPool.Lease pcm) {
+        // Drop leading/trailing silence before anything is uploaded (billed per second)
+        double trimmed;
+        synchronized (vad) {
+            trimmed = vad.trim(pcm.buffer(), captureFormat);
+        }
+
+        String path = session.getFile().getAbsolutePath();
+        CapturedAudio capture = new CapturedAudio(captureFormat, pcm, path, trimmed);
+        System.out.println("🎤 Captured " + capture.getPcmLength() + " bytes in memory ("
+            + String.format("%.1f", capture.getDurationSeconds()) + " s, "
+            + String.format("%.1f", trimmed) + " s of silence removed)");
+
+        // Hands the archival write to the session manager's background writer
+        sessions.captured(session, capture, archiveWav);
+        return capture;
+    }
+
+    /**
+     * Sets what to run (on the capture thread) when a recording reaches
+     * RECORDER_MAX_SECONDS and stops keeping audio (null to remove).
+     */
+    public void setLimitListener(Runnable listener) {
+        this.limitListener = listener;
+    }
+
+    /**
+     * Sets the listener that sees every chunk while the microphone is open (null to remove).
+     */
+    public void setFrameListener(FrameListener listener) {
+        this.frameListener = listener;
+    }
+
+    /**
+     * Gets the ring the capture thread publishes live levels to.
+     */
+    public LevelMeterRing getLevelRing() {
+        return levelRing;
+    }
+
+    /**
+     * Gets the format audio is captured in.
+     */
+    public AudioFormat getCaptureFormat() {
+        return captureFormat;
+    }
+
+    /**
+     * Checks if the microphone is currently held open.
+     */
+    public boolean isMicrophoneOpen() {
+        return micOpen;
+    }
+
+    /**
+     * Gets the in-memory audio of the last recording (memory mode only).
+     * @return The last capture, or null in file mode
+     */
+    public CapturedAudio getLastCapture() {
+        return lastSession != null ? lastSession.getCapture() : null;
+    }
+
+    /**
+     * Gets the session of the last finished recording.
+     */
+    public RecordingSessionManager.RecordingSession getLastSession() {
+        return lastSession;
+    }
+
+    /**
+     * Gets the manager that tracks in-flight recording sessions.
+     */
+    public RecordingSessionManager getSessionManager() {
+        return sessions;
+    }
+
+    /**
+     * Checks if the microphone stays open between recordings.
+     */
+    public boolean isAlwaysOpen() {
+        return alwaysOpen;
+    }
+
     /**
      * Checks if recording is currently in progress.
      * @return true if recording, false otherwise
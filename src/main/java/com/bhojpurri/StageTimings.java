@@ -0,0 +1,78 @@
+package com.bhojpurri;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * How long each pipeline stage took for one utterance, in milliseconds.
+ * Stored with the translation (one column per stage) and rolled up into
+ * daily percentiles by {@link LatencyRollup}. Stages that did not run stay
+ * unmeasured and are stored as NULL.
+ */
+public class StageTimings {
+
+    /**
+     * Pipeline stages in the order they run.
+     */
+    public enum Stage {
+        RECORD,      // Recording start until the audio is ready for processing
+        UPLOAD,      // Sending the audio to the transcription API
+        TRANSCRIBE,  // Waiting for the transcript after the upload
+        TRANSLATE,   // Translation memory lookup plus the API call on a miss
+        SYNTHESIZE,  // Text-to-speech, including failed providers
+        PLAY,        // Playing the speech
+        SAVE;        // Write-behind queue until the row is committed
+
+        /**
+         * Column holding this stage in translations (e.g. transcribe_ms).
+         */
+        public String column() {
+            return name().toLowerCase(Locale.ROOT) + "_ms";
+        }
+    }
+
+    private static final long UNMEASURED = -1;
+
+    private final long[] millis = new long[Stage.values().length];
+
+    public StageTimings() {
+        Arrays.fill(millis, UNMEASURED);
+    }
+
+    /**
+     * Sets the time spent in a stage.
+     */
+    public synchronized void set(Stage stage, long ms) {
+        millis[stage.ordinal()] = Math.max(0, ms);
+    }
+
+    /**
+     * Adds time to a stage (e.g. one per TTS provider tried).
+     */
+    public synchronized void add(Stage stage, long ms) {
+        long current = millis[stage.ordinal()];
+        millis[stage.ordinal()] = (current == UNMEASURED ? 0 : current) + Math.max(0, ms);
+    }
+
+    /**
+     * Gets the time spent in a stage, or null if it was not measured.
+     */
+    public synchronized Integer get(Stage stage) {
+        long ms = millis[stage.ordinal()];
+        return ms == UNMEASURED ? null : (int) Math.min(Integer.MAX_VALUE, ms);
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder text = new StringBuilder();
+        for (Stage stage : Stage.values()) {
+            if (millis[stage.ordinal()] != UNMEASURED) {
+                if (text.length() > 0) {
+                    text.append(", ");
+                }
+                text.append(stage.name().toLowerCase(Locale.ROOT)).append(' ').append(millis[stage.ordinal()]).append(" ms");
+            }
+        }
+        return text.length() == 0 ? "no timings" : text.toString();
+    }
+}
@@ -0,0 +1,168 @@
+package com.bhojpurri;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs start-up work on background threads so the window can be shown at once.
+ * Each task names the tasks it depends on and starts as soon as they have
+ * finished; independent tasks run in parallel. A failed task fails the tasks
+ * that depend on it, so the UI can keep the matching features disabled.
+ * When everything has finished a timeline of the start-up is logged.
+ */
+public class StartupOrchestrator {
+    private static final Logger logger = LoggerFactory.getLogger(StartupOrchestrator.class);
+
+    private static final int DEFAULT_THREADS = 4;
+
+    /**
+     * Start-up work that produces no value.
+     */
+    public interface Step {
+        void run() throws Exception;
+    }
+
+    /**
+     * One line of the timeline: a task (start to end) or a single moment (start == end).
+     */
+    private static final class Event {
+        final String name;
+        final String thread;
+        final long startMs;
+        final long endMs;
+        final String outcome;
+
+        Event(String name, String thread, long startMs, long endMs, String outcome) {
+            this.name = name;
+            this.thread = thread;
+            this.startMs = startMs;
+            this.endMs = endMs;
+            this.outcome = outcome;
+        }
+    }
+
+    private final long startNanos = System.nanoTime();
+    private final List<Event> timeline = new ArrayList<>();   // Guarded by itself
+    private final List<CompletableFuture<?>> tasks = new ArrayList<>();
+    private final ExecutorService executor;
+
+    public StartupOrchestrator() {
+        // Start-up work mostly waits on disk and network, so more threads than cores is fine
+        int threads = Math.max(1, EnvLoader.getInt("STARTUP_THREADS", DEFAULT_THREADS));
+        AtomicInteger count = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "startup-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Schedules a task that produces a value.
+     *
+     * @param name Shown in the timeline
+     * @param init The work; runs once every dependency has completed successfully
+     * @param dependencies Tasks that must finish first
+     * @return Completes with the value, or exceptionally if the task or a dependency failed
+     */
+    public synchronized <T> CompletableFuture<T> task(String name, Callable<T> init, CompletableFuture<?>... dependencies) {
+        CompletableFuture<T> result = CompletableFuture.allOf(dependencies)
+            .handleAsync((ignored, dependencyFailure) -> {
+                if (dependencyFailure != null) {
+                    long now = elapsedMillis();
+                    record(name, now, now, "skipped (a dependency failed)");
+                    throw new CompletionException(dependencyFailure);
+                }
+                long start = elapsedMillis();
+                try {
+                    T value = init.call();
+                    record(name, start, elapsedMillis(), "ok");
+                    return value;
+                } catch (Exception e) {
+                    record(name, start, elapsedMillis(), "failed: " + e.getMessage());
+                    logger.error("❌ Start-up task '{}' failed", name, e);
+                    throw new CompletionException(e);
+                }
+            }, executor);
+        tasks.add(result);
+        return result;
+    }
+
+    /**
+     * Schedules a task that produces no value.
+     */
+    public CompletableFuture<Void> run(String name, Step step, CompletableFuture<?>... dependencies) {
+        return task(name, () -> {
+            step.run();
+            return null;
+        }, dependencies);
+    }
+
+    /**
+     * Adds a moment (e.g. "window shown") to the timeline.
+     */
+    public void mark(String name) {
+        long now = elapsedMillis();
+        record(name, now, now, "ok");
+    }
+
+    /**
+     * Milliseconds since the orchestrator was created.
+     */
+    public long elapsedMillis() {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /**
+     * Declares that every task has been scheduled. Once they have all finished
+     * the timeline is logged and the start-up threads exit.
+     *
+     * @return Completes when every task has finished (successfully or not)
+     */
+    public synchronized CompletableFuture<Void> finish() {
+        CompletableFuture<?>[] all = tasks.toArray(new CompletableFuture<?>[0]);
+        return CompletableFuture.allOf(all)
+            .handle((ignored, failure) -> {
+                executor.shutdown();
+                logTimeline();
+                return null;
+            });
+    }
+
+    private void record(String name, long startMs, long endMs, String outcome) {
+        synchronized (timeline) {
+            timeline.add(new Event(name, Thread.currentThread().getName(), startMs, endMs, outcome));
+        }
+        if (startMs == endMs && outcome.equals("ok")) {
+            logger.info("⏱️ Start-up +{} ms: {}", startMs, name);
+        } else {
+            logger.info("⏱️ Start-up +{} ms: {} {} in {} ms", endMs, name, outcome, endMs - startMs);
+        }
+    }
+
+    private void logTimeline() {
+        List<Event> events;
+        synchronized (timeline) {
+            events = new ArrayList<>(timeline);
+        }
+        events.sort(Comparator.comparingLong((Event e) -> e.startMs).thenComparingLong(e -> e.endMs));
+        long total = events.stream().mapToLong(e -> e.endMs).max().orElse(0);
+
+        StringBuilder text = new StringBuilder("🚀 Start-up finished in ").append(total).append(" ms");
+        for (Event event : events) {
+            text.append(String.format("%n   %6d → %6d ms  %-22s %-10s %s",
+                event.startMs, event.endMs, event.name, event.thread, event.outcome));
+        }
+        logger.info(text.toString());
+    }
+}
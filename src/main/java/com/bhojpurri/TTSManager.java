@@ -9,13 +9,17 @@ import java.net.http.HttpResponse;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Manages Text-to-Speech conversion with ElevenLabs API (high quality) and Google TTS fallback.
+ * Manages Text-to-Speech conversion with ElevenLabs API (high quality) and Google TTS (fast, free).
+ * The provider tried first is picked per language by {@link TTSRouter}.
  */
 public class TTSManager {
     private static final Logger logger = LoggerFactory.getLogger(TTSManager.class);
@@ -38,9 +42,13 @@ public class TTSManager {
     // Using a multilingual voice for better Bhojpuri/Hindi pronunciation
     private static final String DEFAULT_VOICE_ID = VOICE_ID_BELLA;
     
+    static final String OUTPUT_DIRECTORY = "tts_output"; // One file per synthesis, owned by its translation
+    
     private final HttpClient httpClient;
     private final AudioPlayer audioPlayer;
+    private final TTSRouter router;
     private final Path outputDirectory;
+    private final AtomicLong fileCounter = new AtomicLong();
     
     /**
      * Maps language codes to Google TTS supported codes
@@ -68,9 +76,10 @@ public class TTSManager {
             .connectTimeout(java.time.Duration.ofSeconds(30))
             .build();
         this.audioPlayer = new AudioPlayer();
+        this.router = new TTSRouter();
         
         // Create output directory for TTS audio files
-        this.outputDirectory = Paths.get("tts_output");
+        this.outputDirectory = Paths.get(OUTPUT_DIRECTORY);
         try {
             if (!Files.exists(outputDirectory)) {
                 Files.createDirectories(outputDirectory);
@@ -82,7 +91,7 @@ public class TTSManager {
     }
 
     /**
-     * Converts text to speech - tries ElevenLabs first (premium quality), then falls back to Google TTS (FREE).
+     * Converts text to speech - tries providers in the order chosen by the {@link TTSRouter}.
      * @param text The text to convert to speech
      * @return Path to the generated TTS audio file, or null if failed
      */
@@ -91,12 +100,61 @@ public class TTSManager {
     }
 
     /**
-     * Converts text to speech in specified language - tries ElevenLabs first (premium quality), then falls back to Google TTS (FREE).
+     * Converts text to speech in specified language and plays it.
+     * Providers are tried in the order chosen by the {@link TTSRouter}; if one fails
+     * (or its audio cannot be played) the next one is used.
      * @param text The text to convert to speech
      * @param languageCode The language code (e.g., "hi" for Hindi, "es" for Spanish, "fr" for French)
      * @return Path to the generated TTS audio file, or null if failed
      */
     public String speak(String text, String languageCode) throws IOException, InterruptedException {
+        return speak(text, languageCode, null);
+    }
+
+    /**
+     * Converts text to speech and plays it, recording how long synthesis and playback took.
+     * @param text The text to convert to speech
+     * @param languageCode The language code
+     * @param timings Receives the SYNTHESIZE and PLAY stages (may be null)
+     * @return Path to the generated TTS audio file, or null if failed
+     */
+    public String speak(String text, String languageCode, StageTimings timings) throws IOException, InterruptedException {
+        Speech speech = synthesize(text, languageCode, timings);
+        return speech != null ? play(speech, timings) : null;
+    }
+
+    /**
+     * Synthesized speech that has not been played yet, with the providers left
+     * to fall back on if it cannot be played.
+     */
+    public static final class Speech {
+        final String text;
+        final String languageCode;
+        final String filePath;
+        final TTSProvider provider;
+        final List<TTSProvider> fallbacks;
+
+        Speech(String text, String languageCode, String filePath, TTSProvider provider, List<TTSProvider> fallbacks) {
+            this.text = text;
+            this.languageCode = languageCode;
+            this.filePath = filePath;
+            this.provider = provider;
+            this.fallbacks = fallbacks;
+        }
+
+        public String getFilePath() {
+            return filePath;
+        }
+    }
+
+    /**
+     * Converts text to speech without playing it (so the next utterance can be
+     * synthesized while this one is still playing). Providers are tried in the
+     * order chosen by the {@link TTSRouter} until one succeeds.
+     * @param timings Receives the SYNTHESIZE stage (may be null)
+     * @return The speech to pass to {@link #play}, or null for empty text
+     */
+    public Speech synthesize(String text, String languageCode, StageTimings timings) throws IOException {
         if (text == null || text.trim().isEmpty()) {
             System.out.println("⚠️ Empty text provided for TTS");
             return null;
@@ -105,53 +163,105 @@ public class TTSManager {
         System.out.println("\n🔊 Starting TTS for: " + text + " (Language: " + languageCode + ")");
         logger.info("Converting text to speech: {} in language: {}", text, languageCode);
 
-        boolean success = false;
-        Exception lastException = null;
-        String generatedFilePath = null;
-
-        // Try ElevenLabs TTS first (high quality)
+        List<TTSProvider> available = new ArrayList<>();
         if (!ELEVENLABS_API_KEY.equals("YOUR_ELEVENLABS_API_KEY_HERE")) {
-            System.out.println("🎙️ Trying ElevenLabs TTS (Premium Quality)...");
-            logger.info("Trying ElevenLabs TTS");
-            
-            try {
-                generatedFilePath = useElevenLabsTTS(text, languageCode);
-                System.out.println("✅ ElevenLabs TTS successful!");
-                success = true;
-            } catch (Exception e) {
-                System.out.println("⚠️ ElevenLabs TTS failed: " + e.getMessage());
-                logger.warn("ElevenLabs TTS failed: {}", e.getMessage());
-                lastException = e;
-            }
+            available.add(TTSProvider.ELEVENLABS);
         } else {
             System.out.println("⚠️ ElevenLabs API key not set - skipping premium TTS");
             logger.info("ElevenLabs API key not configured, skipping");
         }
+        available.add(TTSProvider.GOOGLE);
+
+        // Ask the router which provider is best for this language right now
+        List<TTSProvider> order = router.route(languageCode, available);
+        System.out.println("🧭 TTS route for " + languageCode + ": " + order);
 
-        // Fallback to Google TTS if ElevenLabs failed
-        if (!success) {
-            System.out.println("🔄 Using FREE Google TTS fallback...");
-            logger.info("Falling back to Google TTS");
+        return synthesizeWith(text, languageCode, order, timings);
+    }
+
+    private Speech synthesizeWith(String text, String languageCode, List<TTSProvider> order,
+                                  StageTimings timings) throws IOException {
+        Exception lastException = null;
+
+        for (int i = 0; i < order.size(); i++) {
+            TTSProvider provider = order.get(i);
+            long startTime = System.currentTimeMillis();
+
+            // Synthesis (timed for routing statistics)
             try {
-                generatedFilePath = useGoogleTTS(text, languageCode);
-                System.out.println("✅ Google TTS successful!");
-                success = true;
+                System.out.println("🎙️ Trying " + provider.getId() + " TTS...");
+                String generatedFilePath = provider == TTSProvider.ELEVENLABS
+                    ? useElevenLabsTTS(text, languageCode)
+                    : useGoogleTTS(text, languageCode);
+                long latency = System.currentTimeMillis() - startTime;
+                router.record(provider, languageCode, latency, true);
+                if (timings != null) {
+                    timings.add(StageTimings.Stage.SYNTHESIZE, latency);
+                }
+                System.out.println("✅ " + provider.getId() + " TTS successful! (" + latency + " ms)");
+                return new Speech(text, languageCode, generatedFilePath, provider,
+                    new ArrayList<>(order.subList(i + 1, order.size())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("TTS interrupted", e);
             } catch (Exception e) {
-                System.out.println("❌ Google TTS also failed: " + e.getMessage());
-                logger.error("Google TTS failed", e);
+                router.record(provider, languageCode, System.currentTimeMillis() - startTime, false);
+                if (timings != null) {
+                    timings.add(StageTimings.Stage.SYNTHESIZE, System.currentTimeMillis() - startTime);
+                }
+                System.out.println("⚠️ " + provider.getId() + " TTS failed: " + e.getMessage());
+                logger.warn("{} TTS failed: {}", provider.getId(), e.getMessage());
                 lastException = e;
             }
         }
 
         // If everything failed, throw error
-        if (!success) {
-            System.out.println("❌ All TTS methods failed!");
-            logger.error("All TTS methods failed");
-            String errorMsg = lastException != null ? lastException.getMessage() : "Unknown error";
-            throw new IOException("TTS conversion failed: " + errorMsg, lastException);
+        System.out.println("❌ All TTS methods failed!");
+        logger.error("All TTS methods failed");
+        String errorMsg = lastException != null ? lastException.getMessage() : "Unknown error";
+        throw new IOException("TTS conversion failed: " + errorMsg, lastException);
+    }
+
+    /**
+     * Plays synthesized speech. If it cannot be played, the remaining providers
+     * are tried (synthesize and play) in order.
+     * @param timings Receives the PLAY stage, and SYNTHESIZE for any fallback (may be null)
+     * @return Path of the audio file that was played
+     */
+    public String play(Speech speech, StageTimings timings) throws IOException {
+        Speech current = speech;
+        while (true) {
+            // Playback (not counted against the provider)
+            long playStart = System.currentTimeMillis();
+            try {
+                System.out.println("   Playing audio...");
+                audioPlayer.play(current.filePath, current.provider.getId());
+                if (timings != null) {
+                    timings.set(StageTimings.Stage.PLAY, System.currentTimeMillis() - playStart);
+                }
+                System.out.println("   ✅ Playback completed");
+                logger.info("Silence trimmed per provider: {}", SilenceTrimmer.getStatsSnapshot());
+                logger.info("TTS routing stats: {} | primary picks: {}",
+                    router.getStatsSnapshot(), router.getRouteCounts());
+                return current.filePath;
+            } catch (Exception e) {
+                System.out.println("⚠️ Playback of " + current.provider.getId() + " audio failed: " + e.getMessage());
+                logger.warn("Playback of {} audio failed: {}", current.provider.getId(), e.getMessage());
+                if (current.fallbacks.isEmpty()) {
+                    System.out.println("❌ All TTS methods failed!");
+                    logger.error("All TTS methods failed");
+                    throw new IOException("TTS conversion failed: " + e.getMessage(), e);
+                }
+                current = synthesizeWith(current.text, current.languageCode, current.fallbacks, timings);
+            }
         }
-        
-        return generatedFilePath;
+    }
+
+    /**
+     * Gets the router used to order providers (for metrics).
+     */
+    public TTSRouter getRouter() {
+        return router;
     }
 
     /**
@@ -159,20 +269,10 @@ public class TTSManager {
      * Free tier: 10,000 characters/month
      * Supports multilingual voices perfect for Hindi/Bhojpuri
      * @param languageCode Language code (not directly used but logged for tracking)
+     * @return Path to the generated audio file (not yet played)
      */
     private String useElevenLabsTTS(String text, String languageCode) throws IOException, InterruptedException {
-        Path outputFile = outputDirectory.resolve("tts_output.mp3");
-
-        // Delete old file first to prevent accumulation
-        try {
-            if (Files.exists(outputFile)) {
-                Files.delete(outputFile);
-                System.out.println("   🗑️ Deleted old TTS file to prevent accumulation");
-                logger.info("Deleted old TTS file: {}", outputFile);
-            }
-        } catch (IOException e) {
-            logger.warn("Could not delete old TTS file: {}", e.getMessage());
-        }
+        Path outputFile = newOutputFile();
 
         try {
             String endpoint = ELEVENLABS_ENDPOINT + DEFAULT_VOICE_ID;
@@ -209,9 +309,7 @@ public class TTSManager {
             if (response.statusCode() == 200 && Files.exists(outputFile) && Files.size(outputFile) > 0) {
                 System.out.println("   File size: " + Files.size(outputFile) + " bytes");
                 System.out.println("   Saved to: " + outputFile.toAbsolutePath());
-                System.out.println("   Playing audio...");
-                audioPlayer.play(outputFile.toString());
-                System.out.println("   ✅ Playback completed");
+                indexAudio(outputFile);
                 return outputFile.toAbsolutePath().toString();
             } else {
                 String errorMsg = "ElevenLabs TTS failed with status: " + response.statusCode();
@@ -233,25 +331,14 @@ public class TTSManager {
     }
 
     /**
-     * Google TTS fallback - FREE and reliable!
+     * Google TTS - FREE, reliable and fast!
      * Uses Google Translate's text-to-speech API (no key needed).
      * @param text The text to speak
      * @param languageCode The language code (e.g., "hi", "es", "fr", "ja", etc.)
-     * @return Path to the generated audio file
+     * @return Path to the generated audio file (not yet played)
      */
     private String useGoogleTTS(String text, String languageCode) throws IOException, InterruptedException {
-        Path outputFile = outputDirectory.resolve("tts_output.mp3");
-
-        // ⚠️ IMPORTANT: Delete old file first to prevent audio accumulation
-        try {
-            if (Files.exists(outputFile)) {
-                Files.delete(outputFile);
-                System.out.println("   🗑️ Deleted old TTS file to prevent accumulation");
-                logger.info("Deleted old TTS file: {}", outputFile);
-            }
-        } catch (IOException e) {
-            logger.warn("Could not delete old TTS file: {}", e.getMessage());
-        }
+        Path outputFile = newOutputFile();
 
         try {
             String encodedText = URLEncoder.encode(text, "UTF-8");
@@ -280,9 +367,7 @@ public class TTSManager {
             if (response.statusCode() == 200 && Files.exists(outputFile) && Files.size(outputFile) > 0) {
                 System.out.println("   File size: " + Files.size(outputFile) + " bytes");
                 System.out.println("   Saved to: " + outputFile.toAbsolutePath());
-                System.out.println("   Playing audio...");
-                audioPlayer.play(outputFile.toString());
-                System.out.println("   ✅ Playback completed");
+                indexAudio(outputFile);
                 return outputFile.toAbsolutePath().toString();
             } else {
                 Files.deleteIfExists(outputFile);
@@ -296,32 +381,23 @@ public class TTSManager {
     }
 
     /**
-     * Cleans up old TTS audio files.
+     * A fresh file for one synthesis, so speech can be generated while earlier
+     * speech is still playing. Each file belongs to the translation that saved
+     * it; files no translation points at are removed by {@link SpeechFileSweeper}.
      */
-    public void cleanupOldFiles() {
-        try {
-            long currentTime = System.currentTimeMillis();
-            long oneHourAgo = currentTime - (60 * 60 * 1000);
+    private Path newOutputFile() {
+        return outputDirectory.resolve("tts_" + System.currentTimeMillis() + "_" + fileCounter.incrementAndGet() + ".mp3");
+    }
 
-            Files.list(outputDirectory)
-                .filter(path -> path.toString().endsWith(".mp3"))
-                .filter(path -> {
-                    try {
-                        return Files.getLastModifiedTime(path).toMillis() < oneHourAgo;
-                    } catch (IOException e) {
-                        return false;
-                    }
-                })
-                .forEach(path -> {
-                    try {
-                        Files.delete(path);
-                        logger.debug("Deleted old TTS file: {}", path);
-                    } catch (IOException e) {
-                        logger.warn("Failed to delete old file: {}", path);
-                    }
-                });
+    /**
+     * Builds the MP3 frame index for freshly stored audio so replays can seek.
+     * Indexing problems never fail the TTS request.
+     */
+    private void indexAudio(Path audioFile) {
+        try {
+            Mp3FrameIndex.buildAndStore(audioFile);
         } catch (IOException e) {
-            logger.warn("Error during cleanup", e);
+            logger.warn("Could not index TTS audio {}: {}", audioFile, e.getMessage());
         }
     }
 }
@@ -0,0 +1,35 @@
+package com.bhojpurri;
+
+/**
+ * Text-to-Speech providers known to {@link TTSManager}.
+ */
+public enum TTSProvider {
+    ELEVENLABS("elevenlabs"),  // Premium quality, slower
+    GOOGLE("google");          // Free, fast
+
+    private final String id;
+
+    TTSProvider(String id) {
+        this.id = id;
+    }
+
+    /**
+     * Short lowercase id used in logs, metrics and configuration keys.
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Finds a provider by its id (case-insensitive).
+     * @return The provider, or null if the id is unknown
+     */
+    public static TTSProvider fromId(String id) {
+        for (TTSProvider provider : values()) {
+            if (provider.id.equalsIgnoreCase(id.trim())) {
+                return provider;
+            }
+        }
+        return null;
+    }
+}
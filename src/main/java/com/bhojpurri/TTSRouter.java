@@ -0,0 +1,246 @@
+package com.bhojpurri;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Chooses the order in which TTS providers are tried for a language.
+ * Keeps rolling latency and error statistics per (provider, language) and
+ * ranks providers according to the configured {@link Policy}.
+ * Every TTS_PROBE_EVERY-th request for a language tries the lowest-ranked
+ * provider first, so a demoted provider keeps getting fresh samples and can
+ * win its place back once it recovers.
+ */
+public class TTSRouter {
+    private static final Logger logger = LoggerFactory.getLogger(TTSRouter.class);
+
+    /**
+     * Routing policies (configured with TTS_ROUTING_POLICY).
+     */
+    public enum Policy {
+        FIXED,               // Always ElevenLabs first, then Google (original behaviour)
+        FASTEST,             // Lowest rolling latency among healthy providers
+        FASTEST_WITHIN_TIER  // Best quality tier first, fastest healthy provider inside it
+    }
+
+    // Rolling statistics tuning
+    private static final double EWMA_ALPHA = 0.2;        // Weight of the newest sample
+    private static final int MIN_SAMPLES = 3;            // Samples needed before latency is trusted
+    private static final double MAX_ERROR_RATE = 0.5;    // Above this a provider is considered unhealthy
+    private static final int DEFAULT_PROBE_EVERY = 20;   // Requests per language between probes of the last provider
+
+    // Google TTS handles these well and is much faster, so both share the top tier by default
+    private static final Set<String> SHARED_TIER_LANGUAGES = new HashSet<>(Arrays.asList(
+        "bho", "hi", "bn", "ta", "te", "mr", "gu", "kn", "ml", "pa", "ur"
+    ));
+
+    /**
+     * Rolling statistics for one provider and language.
+     */
+    public static class ProviderStats {
+        private double latencyEwmaMs;
+        private double errorRateEwma;
+        private long samples;
+        private long failures;
+
+        synchronized void record(long latencyMs, boolean success) {
+            if (success) {
+                // Seeded by the first success: failures carry no latency, so samples may already be > 0
+                latencyEwmaMs = samples == failures ? latencyMs : EWMA_ALPHA * latencyMs + (1 - EWMA_ALPHA) * latencyEwmaMs;
+            } else {
+                failures++;
+            }
+            errorRateEwma = EWMA_ALPHA * (success ? 0 : 1) + (1 - EWMA_ALPHA) * errorRateEwma;
+            samples++;
+        }
+
+        public synchronized double getLatencyMs() { return latencyEwmaMs; }
+        public synchronized double getErrorRate() { return errorRateEwma; }
+        public synchronized long getSamples() { return samples; }
+        public synchronized long getFailures() { return failures; }
+
+        synchronized boolean isHealthy() {
+            return samples < MIN_SAMPLES || errorRateEwma <= MAX_ERROR_RATE;
+        }
+
+        @Override
+        public synchronized String toString() {
+            return String.format("%.0f ms, err %.0f%%, n=%d", latencyEwmaMs, errorRateEwma * 100, samples);
+        }
+    }
+
+    private final Policy policy;
+    private final int probeEvery;
+    private final Map<TTSProvider, Integer> defaultTiers;                     // TTS_QUALITY_TIERS
+    private final Map<String, Map<TTSProvider, Integer>> languageTiers = new ConcurrentHashMap<>(); // TTS_QUALITY_TIERS_<lang>
+    private final Map<String, ProviderStats> stats = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> routeCounts = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> requestsPerLanguage = new ConcurrentHashMap<>();
+
+    public TTSRouter() {
+        this(parsePolicy(EnvLoader.get("TTS_ROUTING_POLICY", "fastest_within_tier")));
+    }
+
+    public TTSRouter(Policy policy) {
+        this.policy = policy;
+        this.probeEvery = EnvLoader.getInt("TTS_PROBE_EVERY", DEFAULT_PROBE_EVERY); // 0 turns probing off
+        this.defaultTiers = parseTiers(EnvLoader.get("TTS_QUALITY_TIERS"));
+        logger.info("TTS routing policy: {} (probe every {} requests)", policy, probeEvery);
+    }
+
+    /**
+     * Returns the providers to try for a language, best first.
+     *
+     * @param languageCode Target language code
+     * @param available Providers that are configured and may be used
+     */
+    public List<TTSProvider> route(String languageCode, List<TTSProvider> available) {
+        List<TTSProvider> order = new ArrayList<>(available);
+
+        if (policy != Policy.FIXED) {
+            Comparator<TTSProvider> byHealth = Comparator.comparing(p -> !statsFor(p, languageCode).isHealthy());
+            Comparator<TTSProvider> bySpeed = Comparator.comparingDouble(p -> expectedLatency(p, languageCode));
+            if (policy == Policy.FASTEST_WITHIN_TIER) {
+                order.sort(byHealth
+                    .thenComparingInt((TTSProvider p) -> qualityTier(p, languageCode))
+                    .thenComparing(bySpeed));
+            } else {
+                order.sort(byHealth.thenComparing(bySpeed));
+            }
+
+            long requests = requestsPerLanguage.computeIfAbsent(languageCode, k -> new AtomicLong()).incrementAndGet();
+            if (probeEvery > 0 && order.size() > 1 && requests % probeEvery == 0) {
+                // The others stay behind it as fallbacks, so a still-broken provider costs one failed request
+                TTSProvider demoted = order.remove(order.size() - 1);
+                order.add(0, demoted);
+                logger.info("TTS probe for {}: trying demoted {} first ({})",
+                    languageCode, demoted.getId(), statsFor(demoted, languageCode));
+            }
+        }
+
+        if (!order.isEmpty()) {
+            TTSProvider primary = order.get(0);
+            routeCounts.computeIfAbsent(languageCode + "/" + primary.getId(), k -> new AtomicLong()).incrementAndGet();
+            logger.info("TTS route for {}: {} (policy={}, primary stats: {})",
+                languageCode, order, policy, statsFor(primary, languageCode));
+        }
+        return order;
+    }
+
+    /**
+     * Records the outcome of one synthesis request.
+     *
+     * @param latencyMs Time spent waiting for the provider's audio
+     * @param success Whether usable audio was returned
+     */
+    public void record(TTSProvider provider, String languageCode, long latencyMs, boolean success) {
+        ProviderStats s = statsFor(provider, languageCode);
+        s.record(latencyMs, success);
+        logger.debug("TTS stats {}/{}: {}", provider.getId(), languageCode, s);
+    }
+
+    /**
+     * Gets the rolling statistics for a provider and language.
+     */
+    public ProviderStats statsFor(TTSProvider provider, String languageCode) {
+        return stats.computeIfAbsent(provider.getId() + "/" + languageCode, k -> new ProviderStats());
+    }
+
+    /**
+     * Gets a snapshot of "language/provider -> times chosen as primary" for metrics.
+     */
+    public Map<String, Long> getRouteCounts() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        routeCounts.forEach((key, count) -> snapshot.put(key, count.get()));
+        return snapshot;
+    }
+
+    /**
+     * Gets a snapshot of "provider/language -> rolling stats" for metrics.
+     */
+    public Map<String, String> getStatsSnapshot() {
+        Map<String, String> snapshot = new TreeMap<>();
+        stats.forEach((key, s) -> snapshot.put(key, s.toString()));
+        return snapshot;
+    }
+
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Latency used for ranking. Providers without enough samples rank as 0 ms
+     * so each one gets tried a few times before the averages are trusted; one
+     * that has never succeeded has no latency yet and ranks last.
+     */
+    private double expectedLatency(TTSProvider provider, String languageCode) {
+        ProviderStats s = statsFor(provider, languageCode);
+        if (s.getSamples() < MIN_SAMPLES) {
+            return 0;
+        }
+        return s.getSamples() == s.getFailures() ? Double.MAX_VALUE : s.getLatencyMs();
+    }
+
+    /**
+     * Quality tier of a provider for a language (1 = best).
+     * Configurable with TTS_QUALITY_TIERS_&lt;lang&gt; or TTS_QUALITY_TIERS,
+     * e.g. "elevenlabs:1,google:2". Each setting is parsed once.
+     */
+    private int qualityTier(TTSProvider provider, String languageCode) {
+        Map<TTSProvider, Integer> tiers = languageTiers.computeIfAbsent(languageCode,
+            lang -> parseTiers(EnvLoader.get("TTS_QUALITY_TIERS_" + lang)));
+        if (tiers.isEmpty()) {
+            tiers = defaultTiers;
+        }
+        Integer tier = tiers.get(provider);
+        if (tier != null) {
+            return tier;
+        }
+        if (provider == TTSProvider.ELEVENLABS || SHARED_TIER_LANGUAGES.contains(languageCode)) {
+            return 1;
+        }
+        return 2;
+    }
+
+    private static Map<TTSProvider, Integer> parseTiers(String spec) {
+        Map<TTSProvider, Integer> tiers = new EnumMap<>(TTSProvider.class);
+        if (spec == null || spec.isEmpty()) {
+            return tiers;
+        }
+        for (String part : spec.split(",")) {
+            String[] kv = part.split(":");
+            if (kv.length == 2) {
+                TTSProvider provider = TTSProvider.fromId(kv[0]);
+                try {
+                    if (provider != null) {
+                        tiers.put(provider, Integer.parseInt(kv[1].trim()));
+                    }
+                } catch (NumberFormatException e) {
+                    logger.warn("Invalid TTS quality tier: {}", part);
+                }
+            }
+        }
+        return tiers;
+    }
+
+    private static Policy parsePolicy(String value) {
+        try {
+            return Policy.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Unknown TTS_ROUTING_POLICY '{}' - using FASTEST_WITHIN_TIER", value);
+            return Policy.FASTEST_WITHIN_TIER;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 /**
  * Test program to verify MySQL database connectivity and functionality.
  * Run this to ensure database is set up correctly before using the main app.
+ * Uses the same backend as the app (DB_BACKEND); set it to "embedded" to run without MySQL.
  */
 public class TestDatabase {
     private static final Logger logger = LoggerFactory.getLogger(TestDatabase.class);
@@ -16,12 +17,12 @@ public class TestDatabase {
         System.out.println("━".repeat(80));
         System.out.println();
 
-        DatabaseManager dbManager = null;
+        TranslationRepository dbManager = null;
 
         try {
             // Step 1: Test connection
             System.out.println("1️⃣  Testing database connection...");
-            dbManager = new DatabaseManager();
+            dbManager = TranslationRepository.open();
             
             if (dbManager.testConnection()) {
                 System.out.println("✅ Database connection successful!");
@@ -63,6 +63,9 @@ public class TestRecording {
             String filePath = recorder.stopRecording();
             
             if (filePath != null) {
+                // The WAV is written in the background - wait for it before checking
+                recorder.getLastSession().whenWritten().join();
+                recorder.getSessionManager().complete(recorder.getLastSession()); // Returns the pooled PCM
                 File file = new File(filePath);
                 System.out.println("\n✅ Recording successful!");
                 System.out.println("   File: " + filePath);
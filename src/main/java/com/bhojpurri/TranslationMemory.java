@@ -0,0 +1,103 @@
+package com.bhojpurri;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Translation memory: phrases that were translated before are answered from the
+ * database instead of calling the translation API again.
+ * Entries are keyed by a SHA-256 hash of the normalized English text and the
+ * target language, so a lookup is one primary-key read. The repository adds an
+ * entry for every translation it saves, so the memory is shared by every app
+ * instance using the same database.
+ */
+public class TranslationMemory {
+    private static final Logger logger = LoggerFactory.getLogger(TranslationMemory.class);
+
+    private final TranslationRepository repository;
+    private final boolean enabled;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public TranslationMemory(TranslationRepository repository) {
+        this.repository = repository;
+        this.enabled = EnvLoader.getBoolean("TRANSLATION_MEMORY", true);
+    }
+
+    /**
+     * Looks up an earlier translation.
+     *
+     * @return The remembered translation, or null on a miss (or if the lookup failed)
+     */
+    public String lookup(String englishText, String targetLanguage) {
+        if (!enabled || englishText == null || englishText.isBlank()) {
+            return null;
+        }
+        try {
+            String translation = repository.findMemorizedTranslation(key(englishText, targetLanguage));
+            if (translation != null) {
+                long hitCount = hits.incrementAndGet();
+                logger.info("🧠 Translation memory hit ({}% of {} lookups)",
+                    hitCount * 100 / (hitCount + misses.get()), hitCount + misses.get());
+                return translation;
+            }
+        } catch (SQLException e) {
+            logger.warn("⚠️ Translation memory lookup failed: {}", e.getMessage());
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Share of lookups answered from memory (0 to 1).
+     */
+    public double getHitRate() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0 : (double) hits.get() / total;
+    }
+
+    /**
+     * Normalizes English text so trivial differences (case, spacing, final
+     * . , ; :) map to the same entry. A final ? or ! is kept: a question and
+     * the matching statement are translated differently.
+     */
+    static String normalize(String englishText) {
+        String text = Normalizer.normalize(englishText, Normalizer.Form.NFC)
+            .toLowerCase(Locale.ROOT)
+            .replaceAll("\\s+", " ")
+            .replaceAll(" ([?!])", "$1")
+            .trim();
+        return text.replaceAll("[\\s.,;:]+$", "");
+    }
+
+    /**
+     * Memory key for a phrase: SHA-256 of the normalized text and the language code.
+     */
+    static byte[] key(String englishText, String targetLanguage) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(targetLanguage.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0); // Separator, so ("ab", "c") and ("a", "bc") differ
+            digest.update(normalize(englishText).getBytes(StandardCharsets.UTF_8));
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.bhojpurri;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Storage for translation records, independent of the database behind it.
+ * {@link #open()} picks the backend from DB_BACKEND: {@code mysql}
+ * ({@link DatabaseManager}), {@code embedded} ({@link EmbeddedTranslationRepository},
+ * a local H2 file that needs no server) or {@code auto} (MySQL when a server is
+ * listening, otherwise embedded).
+ */
+public interface TranslationRepository extends AutoCloseable {
+
+    /**
+     * Opens the configured backend.
+     */
+    static TranslationRepository open() {
+        Logger logger = LoggerFactory.getLogger(TranslationRepository.class);
+        String backend = EnvLoader.get("DB_BACKEND", "auto").toLowerCase();
+        if (backend.equals("auto")) {
+            // A closed port is refused at once, so this never delays start-up noticeably
+            String host = EnvLoader.get("DB_HOST", DatabaseManager.DEFAULT_HOST);
+            int port = EnvLoader.getInt("DB_PORT", DatabaseManager.DEFAULT_PORT);
+            try (Socket socket = new Socket()) {
+                socket.connect(new InetSocketAddress(host, port), 300);
+                backend = "mysql";
+            } catch (IOException e) {
+                logger.info("No MySQL server at {}:{} - using the embedded database", host, port);
+                backend = "embedded";
+            }
+        }
+        switch (backend) {
+            case "mysql":
+                return new DatabaseManager();
+            case "embedded":
+                return new EmbeddedTranslationRepository();
+            default:
+                logger.warn("Unknown DB_BACKEND '{}' - using the embedded database", backend);
+                return new EmbeddedTranslationRepository();
+        }
+    }
+
+    /**
+     * Save a complete translation record
+     *
+     * @return The ID of the inserted record, or -1 if failed
+     */
+    int saveTranslation(String audioPath, long audioSize, String englishText,
+                        String translatedText, String targetLanguage, String ttsPath);
+
+    /**
+     * Save a complete translation record (defaults to Bhojpuri)
+     */
+    default int saveTranslation(String audioPath, long audioSize, String englishText,
+                                String translatedText, String ttsPath) {
+        return saveTranslation(audioPath, audioSize, englishText, translatedText, "bho", ttsPath);
+    }
+
+    /**
+     * Save several records in one transaction; their {@code id} fields are set on success.
+     *
+     * @return true if every record was saved
+     */
+    boolean saveTranslations(List<TranslationRecord> records);
+
+    /**
+     * Stream every record, oldest first and with its stage timings, without
+     * holding the history in memory (used by {@link HistoryTransfer}).
+     *
+     * @return Number of records streamed
+     */
+    int streamTranslations(RecordSink sink) throws SQLException, IOException;
+
+    /**
+     * Insert records as given (keeping created_at and timings) in one transaction,
+     * e.g. from a backup. New IDs are assigned and set on the records.
+     */
+    void importTranslations(List<TranslationRecord> records) throws SQLException;
+
+    /**
+     * Store the SAVE timing of records that were just saved (by {@link #saveTranslations})
+     */
+    void updateSaveTimes(List<TranslationRecord> records);
+
+    /**
+     * Recompute the daily p50/p95/p99 of every stage and language in stage_latency_stats,
+     * from the given day through today.
+     *
+     * @param from First day to roll up, or null to continue from the last rolled-up day
+     * @return Number of (day, stage, language) rows written
+     */
+    int rollupStageLatencies(LocalDate from) throws SQLException;
+
+    /**
+     * Which of the given speech files some record still points at (tts_file_path),
+     * so {@link SpeechFileSweeper} only deletes orphans.
+     */
+    Set<String> findReferencedTtsFiles(Collection<String> paths) throws SQLException;
+
+    /**
+     * Point records at a new audio file (e.g. after a WAV was archived as FLAC)
+     *
+     * @return Number of records updated, or -1 if the update failed
+     */
+    int updateAudioFile(String oldPath, String newPath, long newSize);
+
+    /**
+     * Get all translation records ordered by newest first
+     */
+    List<TranslationRecord> getAllTranslations();
+
+    /**
+     * Scan the history keys (newest first) and note where each page starts.
+     *
+     * @return Total number of rows scanned
+     */
+    int scanHistoryPages(int pageSize, List<HistoryKey> pageStarts) throws SQLException;
+
+    /**
+     * Get one page of history (newest first) starting at {@code from} (inclusive, null for the newest).
+     */
+    List<TranslationRecord> getTranslationsPage(HistoryKey from, int limit) throws SQLException;
+
+    /**
+     * Search the history; all words must match, filters may be null.
+     */
+    List<SearchResult> search(String text, String language, Timestamp since, int offset, int limit) throws SQLException;
+
+    /**
+     * Count the results {@link #search} would page through.
+     */
+    int countSearchResults(String text, String language, Timestamp since) throws SQLException;
+
+    int getTotalTranslations();
+
+    /**
+     * Look up a translation memory entry (see {@link TranslationMemory#key})
+     *
+     * @return The remembered translation, or null if there is none
+     */
+    String findMemorizedTranslation(byte[] key) throws SQLException;
+
+    /**
+     * Delete translations created before the cutoff, in short batches
+     *
+     * @return Number of records deleted
+     */
+    int purgeOlderThan(Timestamp cutoff) throws SQLException;
+
+    /**
+     * Clear all data (fresh start)
+     */
+    void resetDatabase();
+
+    void printRecentTranslations(int limit);
+
+    void printTodayStats();
+
+    void searchTranslations(String searchTerm);
+
+    boolean testConnection();
+
+    @Override
+    void close();
+
+    /**
+     * Splits search input into words, dropping query operators and words too
+     * short to search for. An empty list means "no text filter".
+     */
+    static List<String> searchWords(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        for (String word : text.trim().split("\\s+")) {
+            // Drop boolean operators and quotes so user input cannot change the query's meaning
+            String cleaned = word.replaceAll("[\"+\\-<>()~*@%_]", "");
+            if (cleaned.codePointCount(0, cleaned.length()) >= 2) { // MySQL's default ngram_token_size
+                words.add(cleaned);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Receives records one at a time from {@link #streamTranslations}
+     */
+    interface RecordSink {
+        void accept(TranslationRecord record) throws IOException;
+    }
+
+    /**
+     * Translation record data class
+     */
+    class TranslationRecord {
+        public int id;
+        public String audioFilePath;
+        public long audioFileSize;
+        public String englishText;
+        public String translatedText;
+        public String targetLanguage;
+        public String ttsFilePath;
+        public java.sql.Timestamp createdAt;
+        public StageTimings timings;      // Per-stage latencies when saved from the pipeline (may be null)
+    }
+
+    /**
+     * Position of a row in history order (created_at DESC, id DESC)
+     */
+    class HistoryKey {
+        public final Timestamp createdAt;
+        public final int id;
+
+        public HistoryKey(Timestamp createdAt, int id) {
+            this.createdAt = createdAt;
+            this.id = id;
+        }
+    }
+
+    /**
+     * A search hit with its relevance (0 when no text was searched)
+     */
+    class SearchResult {
+        public final TranslationRecord record;
+        public final double score;
+
+        public SearchResult(TranslationRecord record, double score) {
+            this.record = record;
+            this.score = score;
+        }
+    }
+}
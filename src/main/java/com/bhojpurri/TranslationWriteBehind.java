@@ -0,0 +1,189 @@
+package com.bhojpurri;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Write-behind queue for translation records.
+ * The pipeline hands records over and carries on; a background thread
+ * collects them for a short linger period and saves each batch in one
+ * transaction (see {@link TranslationRepository#saveTranslations(List)}).
+ * Generated IDs are delivered through the returned futures.
+ */
+public class TranslationWriteBehind implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(TranslationWriteBehind.class);
+
+    private static final int DEFAULT_BATCH_SIZE = 32;   // Records per transaction at most
+    private static final int DEFAULT_LINGER_MS = 200;   // Wait for more records before flushing
+    private static final int SHUTDOWN_WAIT_MS = 5000;   // How long close() waits for the last flush
+
+    private static final class Pending {
+        final TranslationRepository.TranslationRecord record;
+        final CompletableFuture<Integer> saved = new CompletableFuture<>();
+        final long submittedAt = System.nanoTime();
+
+        Pending(TranslationRepository.TranslationRecord record) {
+            this.record = record;
+        }
+    }
+
+    private final TranslationRepository dbManager;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final int batchSize;
+    private final int lingerMs;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    private final AtomicLong recordsSaved = new AtomicLong();
+    private final AtomicLong recordsFailed = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+
+    public TranslationWriteBehind(TranslationRepository dbManager) {
+        this.dbManager = dbManager;
+        this.batchSize = Math.max(1, EnvLoader.getInt("DB_BATCH_SIZE", DEFAULT_BATCH_SIZE));
+        this.lingerMs = Math.max(0, EnvLoader.getInt("DB_FLUSH_LINGER_MS", DEFAULT_LINGER_MS));
+        this.writer = new Thread(this::run, "db-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Queues a record for saving. Never blocks.
+     *
+     * @return Completes with the generated ID, or -1 if the record could not be saved
+     */
+    public CompletableFuture<Integer> submit(TranslationRepository.TranslationRecord record) {
+        Pending pending = new Pending(record);
+        if (!running) {
+            logger.warn("Write-behind queue is closed - saving record directly");
+            flush(List.of(pending));
+            return pending.saved;
+        }
+        queue.add(pending);
+        return pending.saved;
+    }
+
+    /**
+     * Records waiting to be written.
+     */
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    public long getRecordsSaved() {
+        return recordsSaved.get();
+    }
+
+    public long getRecordsFailed() {
+        return recordsFailed.get();
+    }
+
+    public long getFlushCount() {
+        return flushes.get();
+    }
+
+    /**
+     * Stops accepting records and flushes everything still queued.
+     */
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false; // Not interrupted: that would abort an insert in flight
+        try {
+            writer.join(SHUTDOWN_WAIT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            logger.warn("⚠️ Database writer did not finish - {} records may be lost", queue.size());
+        } else {
+            drainRemaining(); // Records submitted while the writer was stopping
+            logger.info("💾 Write-behind queue closed ({} saved, {} failed, {} flushes)",
+                recordsSaved.get(), recordsFailed.get(), flushes.get());
+        }
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Pending first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Give the rest of a burst a moment to arrive so it shares the transaction
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+                while (batch.size() < batchSize) {
+                    long waitNanos = deadline - System.nanoTime();
+                    Pending next = waitNanos > 0 ? queue.poll(waitNanos, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            flush(batch);
+            batch.clear();
+        }
+        flush(batch);
+        drainRemaining();
+    }
+
+    private void drainRemaining() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<TranslationRepository.TranslationRecord> records = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            records.add(pending.record);
+        }
+        boolean ok = dbManager.saveTranslations(records);
+        flushes.incrementAndGet();
+        if (ok) {
+            // Queue wait plus the transaction, stored once the rows exist
+            long committedAt = System.nanoTime();
+            boolean timed = false;
+            for (Pending pending : batch) {
+                if (pending.record.timings != null) {
+                    pending.record.timings.set(StageTimings.Stage.SAVE,
+                        TimeUnit.NANOSECONDS.toMillis(committedAt - pending.submittedAt));
+                    timed = true;
+                }
+            }
+            if (timed) {
+                dbManager.updateSaveTimes(records);
+            }
+        }
+        for (Pending pending : batch) {
+            int id = ok ? pending.record.id : -1;
+            if (id > 0) {
+                recordsSaved.incrementAndGet();
+            } else {
+                recordsFailed.incrementAndGet();
+            }
+            pending.saved.complete(id);
+        }
+    }
+}
@@ -6,11 +6,19 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManager;
@@ -83,15 +91,20 @@ public class Translator {
      * @throws IOException If transcription fails
      */
     public String transcribeToEnglish(String audioFilePath) throws IOException {
+        return transcribeToEnglish(audioFilePath, null);
+    }
+
+    /**
+     * Transcribes an audio file, recording the upload and transcription times.
+     * 
+     * @param audioFilePath Path to the recorded WAV file
+     * @param timings Receives the UPLOAD and TRANSCRIBE stages (may be null)
+     * @return Transcribed English text
+     * @throws IOException If transcription fails
+     */
+    public String transcribeToEnglish(String audioFilePath, StageTimings timings) throws IOException {
         logger.info("Transcribing audio file using Groq Whisper: {}", audioFilePath);
-        
-        // Check if API key is configured
-        if (GROQ_API_KEY.equals("YOUR_GROQ_API_KEY_HERE")) {
-            String errorMsg = "Groq API key not configured! Get your FREE key from https://console.groq.com/";
-            logger.error(errorMsg);
-            System.out.println("\n❌ " + errorMsg);
-            throw new IllegalStateException(errorMsg);
-        }
+        checkGroqApiKey();
         
         File audioFile = new File(audioFilePath);
         if (!audioFile.exists() || audioFile.length() == 0) {
@@ -99,12 +112,89 @@ public class Translator {
         }
         
         logger.info("Audio file size: {} bytes", audioFile.length());
+        // Read into a pooled direct buffer instead of a fresh byte[] per upload
+        try (FileChannel channel = FileChannel.open(audioFile.toPath(), StandardOpenOption.READ);
+             BufferPool.Lease lease = BufferPool.shared().lease((int) channel.size())) {
+            ByteBuffer audio = lease.buffer();
+            while (audio.hasRemaining() && channel.read(audio) >= 0) {
+                // Keep reading until the buffer is full
+            }
+            audio.flip();
+            return sendTranscription(audioFile.getName(), List.of(audio), timings);
+        }
+    }
+
+    /**
+     * Transcribes an in-memory recording without reading anything from disk.
+     * The WAV header is generated on the fly and the PCM buffer is uploaded as-is.
+     * 
+     * @param audio Captured PCM audio
+     * @return Transcribed English text
+     * @throws IOException If transcription fails
+     */
+    public String transcribeToEnglish(CapturedAudio audio) throws IOException {
+        return transcribeToEnglish(audio, null);
+    }
+
+    /**
+     * Transcribes an in-memory recording, recording the upload and transcription times.
+     * 
+     * @param audio Captured PCM audio
+     * @param timings Receives the UPLOAD and TRANSCRIBE stages (may be null)
+     * @return Transcribed English text
+     * @throws IOException If transcription fails
+     */
+    public String transcribeToEnglish(CapturedAudio audio, StageTimings timings) throws IOException {
+        logger.info("Transcribing in-memory audio using Groq Whisper ({} bytes PCM)", audio.getPcmLength());
+        checkGroqApiKey();
+        
+        if (audio.getPcmLength() == 0) {
+            throw new IOException("Captured audio is empty");
+        }
+        
+        String fileName = audio.getArchivePath() != null
+            ? new File(audio.getArchivePath()).getName() : "recording.wav";
+        return sendTranscription(fileName, List.of(
+            WavHeader.create(audio.getFormat(), audio.getPcmLength()),
+            audio.getPcm()
+        ), timings);
+    }
+
+    /**
+     * Fails fast if the Groq API key has not been configured.
+     */
+    private void checkGroqApiKey() {
+        if (GROQ_API_KEY.equals("YOUR_GROQ_API_KEY_HERE")) {
+            String errorMsg = "Groq API key not configured! Get your FREE key from https://console.groq.com/";
+            logger.error(errorMsg);
+            System.out.println("\n❌ " + errorMsg);
+            throw new IllegalStateException(errorMsg);
+        }
+    }
+
+    /**
+     * Gets the MIME type of an audio file from its extension (archived recordings are FLAC).
+     */
+    private static String contentTypeFor(String fileName) {
+        return fileName.toLowerCase().endsWith(".flac") ? "audio/flac" : "audio/wav";
+    }
+
+    /**
+     * Sends WAV audio to the Groq Whisper API as multipart form data.
+     * The audio parts are streamed as-is between the multipart prefix and suffix,
+     * so they are never copied into one combined array.
+     * 
+     * @param fileName File name reported in the form data
+     * @param wavParts WAV file content (header and data), in order
+     * @param timings Receives the UPLOAD and TRANSCRIBE stages (may be null)
+     * @return Transcribed English text
+     */
+    private String sendTranscription(String fileName, List<ByteBuffer> wavParts, StageTimings timings) throws IOException {
         System.out.println("🎤 Transcribing audio with Groq Whisper API...");
         
         try {
             // Create multipart form data request
             String boundary = "----WebKitFormBoundary" + System.currentTimeMillis();
-            byte[] audioBytes = Files.readAllBytes(audioFile.toPath());
             
             // Build multipart body
             StringBuilder bodyBuilder = new StringBuilder();
@@ -112,8 +202,8 @@ public class Translator {
             // Add file part
             bodyBuilder.append("--").append(boundary).append("\r\n");
             bodyBuilder.append("Content-Disposition: form-data; name=\"file\"; filename=\"")
-                      .append(audioFile.getName()).append("\"\r\n");
-            bodyBuilder.append("Content-Type: audio/wav\r\n\r\n");
+                      .append(fileName).append("\"\r\n");
+            bodyBuilder.append("Content-Type: ").append(contentTypeFor(fileName)).append("\r\n\r\n");
             
             String bodyPrefix = bodyBuilder.toString();
             
@@ -134,31 +224,36 @@ public class Translator {
             
             String bodySuffix = bodyBuilder.toString();
             
-            // Combine all parts
-            byte[] prefixBytes = bodyPrefix.getBytes("UTF-8");
-            byte[] suffixBytes = bodySuffix.getBytes("UTF-8");
-            byte[] fullBody = new byte[prefixBytes.length + audioBytes.length + suffixBytes.length];
-            
-            System.arraycopy(prefixBytes, 0, fullBody, 0, prefixBytes.length);
-            System.arraycopy(audioBytes, 0, fullBody, prefixBytes.length, audioBytes.length);
-            System.arraycopy(suffixBytes, 0, fullBody, prefixBytes.length + audioBytes.length, suffixBytes.length);
+            // Prefix + audio parts + suffix, sent without concatenating
+            List<ByteBuffer> parts = new ArrayList<>();
+            parts.add(ByteBuffer.wrap(bodyPrefix.getBytes(StandardCharsets.UTF_8)));
+            parts.addAll(wavParts);
+            parts.add(ByteBuffer.wrap(bodySuffix.getBytes(StandardCharsets.UTF_8)));
             
-            // Create HTTP request
+            // Create HTTP request (the body reports when it has been sent, splitting upload from transcription)
+            AtomicLong sentAt = new AtomicLong();
             HttpRequest request = HttpRequest.newBuilder()
                 .uri(URI.create(GROQ_WHISPER_ENDPOINT))
                 .header("Authorization", "Bearer " + GROQ_API_KEY)
                 .header("Content-Type", "multipart/form-data; boundary=" + boundary)
-                .POST(HttpRequest.BodyPublishers.ofByteArray(fullBody))
+                .POST(new ByteBufferBodyPublisher(parts, () -> sentAt.set(System.nanoTime())))
                 .timeout(java.time.Duration.ofSeconds(15))  // Reduced from 60s to 15s
                 .build();
             
             logger.debug("Sending transcription request to Groq Whisper API");
             
             // Send request
+            long sendStart = System.nanoTime();
             HttpResponse<String> response = httpClient.send(
                 request,
                 HttpResponse.BodyHandlers.ofString()
             );
+            if (timings != null) {
+                long end = System.nanoTime();
+                long sent = sentAt.get() != 0 ? sentAt.get() : end;
+                timings.set(StageTimings.Stage.UPLOAD, TimeUnit.NANOSECONDS.toMillis(sent - sendStart));
+                timings.set(StageTimings.Stage.TRANSCRIBE, TimeUnit.NANOSECONDS.toMillis(end - sent));
+            }
             
             logger.debug("Received response with status code: {}", response.statusCode());
             
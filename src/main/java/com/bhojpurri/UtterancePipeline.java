@@ -0,0 +1,273 @@
+package com.bhojpurri;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs utterances through transcribe → translate → synthesize → play → persist
+ * as a pipeline, so the next utterance can be recorded and processed while the
+ * previous one is still being translated or spoken.
+ *
+ * Stages are connected by bounded queues. Transcription, translation and
+ * synthesis each have their own worker pool (PIPELINE_*_WORKERS) and may
+ * finish out of order; a reorder buffer hands utterances to the single play
+ * thread in ID order, and persisting follows playback, so results are spoken,
+ * shown and saved in the order they were recorded. At most
+ * PIPELINE_MAX_IN_FLIGHT utterances are in the pipeline at once.
+ */
+public class UtterancePipeline {
+    private static final Logger logger = LoggerFactory.getLogger(UtterancePipeline.class);
+
+    // Defaults (overridable through .env)
+    private static final int DEFAULT_WORKERS = 2;
+    private static final int DEFAULT_QUEUE_SIZE = 4;
+    private static final int DEFAULT_MAX_IN_FLIGHT = 4;
+
+    /**
+     * One utterance and what the stages have produced for it so far.
+     */
+    public static final class Utterance {
+        public final long id;                 // Submission order; results come out in this order
+        public final String audioPath;
+        public final RecordingSessionManager.RecordingSession session;  // null in file mode
+        public final String targetLanguage;
+        public final String languageName;
+        public final StageTimings timings = new StageTimings();
+        public volatile long audioSize;
+        public volatile String englishText;
+        public volatile String translatedText;
+        public volatile TTSManager.Speech speech;
+        public volatile String ttsPath;
+        public volatile Exception failure;    // Set by the first stage that failed; later stages are skipped
+
+        final CompletableFuture<Utterance> done = new CompletableFuture<>();
+
+        Utterance(long id, String audioPath, RecordingSessionManager.RecordingSession session,
+                  String targetLanguage, String languageName) {
+            this.id = id;
+            this.audioPath = audioPath;
+            this.session = session;
+            this.targetLanguage = targetLanguage;
+            this.languageName = languageName;
+        }
+
+        @Override
+        public String toString() {
+            return "utterance #" + id + (session != null ? " (" + session + ")" : "");
+        }
+    }
+
+    /**
+     * The work of each stage. Transcribe, translate and synthesize may run for
+     * several utterances at once; play, persist and failed are called one
+     * utterance at a time, in ID order.
+     */
+    public interface Handler {
+        void transcribe(Utterance utterance) throws Exception;
+
+        void translate(Utterance utterance) throws Exception;
+
+        void synthesize(Utterance utterance) throws Exception;
+
+        void play(Utterance utterance) throws Exception;
+
+        void persist(Utterance utterance) throws Exception;
+
+        /**
+         * Called instead of play and persist for an utterance a stage failed on.
+         */
+        void failed(Utterance utterance, Exception cause);
+    }
+
+    private interface Work {
+        void run(Utterance utterance) throws Exception;
+    }
+
+    private interface Loop {
+        void run() throws Exception;
+    }
+
+    private final Handler handler;
+    private final int queueSize;
+    private final int maxInFlight;
+    private final Semaphore capacity;
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final BlockingQueue<Utterance> transcribeQueue;
+    private final BlockingQueue<Utterance> translateQueue;
+    private final BlockingQueue<Utterance> synthesizeQueue;
+    private final BlockingQueue<Utterance> persistQueue;
+    private final Map<Long, Utterance> reorderBuffer = new HashMap<>(); // Synthesized, waiting for their turn to play
+    private long nextToPlay = 1;                                         // Guarded by reorderBuffer
+
+    public UtterancePipeline(Handler handler) {
+        this.handler = handler;
+        this.queueSize = Math.max(1, EnvLoader.getInt("PIPELINE_QUEUE_SIZE", DEFAULT_QUEUE_SIZE));
+        this.maxInFlight = Math.max(1, EnvLoader.getInt("PIPELINE_MAX_IN_FLIGHT", DEFAULT_MAX_IN_FLIGHT));
+        this.capacity = new Semaphore(maxInFlight);
+        this.transcribeQueue = new ArrayBlockingQueue<>(maxInFlight); // Room for everything admitted
+        this.translateQueue = new ArrayBlockingQueue<>(queueSize);
+        this.synthesizeQueue = new ArrayBlockingQueue<>(queueSize);
+        this.persistQueue = new ArrayBlockingQueue<>(queueSize);
+
+        int transcribers = startStage("transcribe", "PIPELINE_TRANSCRIBE_WORKERS", transcribeQueue,
+            handler::transcribe, translateQueue::put);
+        int translators = startStage("translate", "PIPELINE_TRANSLATE_WORKERS", translateQueue,
+            handler::translate, synthesizeQueue::put);
+        int synthesizers = startStage("synthesize", "PIPELINE_SYNTHESIZE_WORKERS", synthesizeQueue,
+            handler::synthesize, this::readyToPlay);
+        startThread("pipeline-play", this::playLoop);
+        startThread("pipeline-persist", this::persistLoop);
+
+        logger.info("🧵 Utterance pipeline: {} transcribe / {} translate / {} synthesize workers, "
+            + "queues of {}, up to {} in flight", transcribers, translators, synthesizers, queueSize, maxInFlight);
+    }
+
+    /**
+     * Adds an utterance if the pipeline has room, without waiting.
+     *
+     * @return Completes (never exceptionally) once the utterance has been played
+     *         and persisted or has failed; null if the pipeline is full
+     */
+    public CompletableFuture<Utterance> offer(String audioPath, RecordingSessionManager.RecordingSession session,
+                                              String targetLanguage, String languageName) {
+        if (!capacity.tryAcquire()) {
+            return null;
+        }
+        return enqueue(audioPath, session, targetLanguage, languageName);
+    }
+
+    /**
+     * Adds an utterance, waiting for room if the pipeline is full.
+     *
+     * @return Completes (never exceptionally) once the utterance has been played
+     *         and persisted or has failed
+     */
+    public CompletableFuture<Utterance> submit(String audioPath, RecordingSessionManager.RecordingSession session,
+                                               String targetLanguage, String languageName) throws InterruptedException {
+        capacity.acquire();
+        return enqueue(audioPath, session, targetLanguage, languageName);
+    }
+
+    /**
+     * Number of utterances submitted but not yet finished.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public boolean hasCapacity() {
+        return capacity.availablePermits() > 0;
+    }
+
+    private synchronized CompletableFuture<Utterance> enqueue(String audioPath,
+                                                              RecordingSessionManager.RecordingSession session,
+                                                              String targetLanguage, String languageName) {
+        // IDs are handed out in the order utterances enter the first queue
+        Utterance utterance = new Utterance(nextId.getAndIncrement(), audioPath, session, targetLanguage, languageName);
+        inFlight.incrementAndGet();
+        transcribeQueue.add(utterance); // Never full: the permit limits admissions to its capacity
+        logger.debug("Queued {} ({} in flight)", utterance, inFlight.get());
+        return utterance.done;
+    }
+
+    /**
+     * Starts the worker pool of one parallel stage.
+     *
+     * @return Number of workers started
+     */
+    private int startStage(String name, String workersKey, BlockingQueue<Utterance> input,
+                           Work work, Work next) {
+        int workers = Math.max(1, EnvLoader.getInt(workersKey, DEFAULT_WORKERS));
+        for (int i = 1; i <= workers; i++) {
+            startThread("pipeline-" + name + "-" + i, () -> {
+                while (true) {
+                    Utterance utterance = input.take();
+                    runStage(name, work, utterance);
+                    next.run(utterance);
+                }
+            });
+        }
+        return workers;
+    }
+
+    /**
+     * Hands a synthesized (or failed) utterance to the play thread.
+     */
+    private void readyToPlay(Utterance utterance) {
+        synchronized (reorderBuffer) {
+            reorderBuffer.put(utterance.id, utterance);
+            reorderBuffer.notifyAll();
+        }
+    }
+
+    private void playLoop() throws Exception {
+        while (true) {
+            Utterance utterance;
+            synchronized (reorderBuffer) {
+                while (!reorderBuffer.containsKey(nextToPlay)) {
+                    reorderBuffer.wait();
+                }
+                utterance = reorderBuffer.remove(nextToPlay++);
+            }
+            runStage("play", handler::play, utterance);
+            persistQueue.put(utterance);
+        }
+    }
+
+    private void persistLoop() throws Exception {
+        while (true) {
+            Utterance utterance = persistQueue.take();
+            runStage("persist", handler::persist, utterance);
+            if (utterance.failure != null) {
+                try {
+                    handler.failed(utterance, utterance.failure);
+                } catch (RuntimeException e) {
+                    logger.error("Failure handler threw for {}", utterance, e);
+                }
+            }
+            inFlight.decrementAndGet();
+            capacity.release();
+            utterance.done.complete(utterance);
+        }
+    }
+
+    /**
+     * Runs one stage unless an earlier stage already failed.
+     */
+    private static void runStage(String stage, Work work, Utterance utterance) {
+        if (utterance.failure != null) {
+            return;
+        }
+        try {
+            work.run(utterance);
+        } catch (Exception e) {
+            logger.error("❌ {} failed for {}", stage, utterance, e);
+            utterance.failure = e;
+        }
+    }
+
+    private static void startThread(String name, Loop loop) {
+        Thread thread = new Thread(() -> {
+            try {
+                loop.run();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                logger.error("Pipeline thread {} stopped", name, e);
+            }
+        }, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+}
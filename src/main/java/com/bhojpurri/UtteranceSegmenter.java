@@ -0,0 +1,174 @@
+package com.bhojpurri;
+
+import javax.sound.sampled.AudioFormat;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Splits a continuous microphone stream into utterances.
+ * Fed one capture chunk at a time (on the capture thread), it tracks the
+ * background noise floor, starts an utterance after a short run of speech
+ * frames and ends it after a pause, handing each finished utterance to a
+ * {@link Listener}. Buffers are allocated once and reused.
+ */
+public class UtteranceSegmenter {
+    private static final Logger logger = LoggerFactory.getLogger(UtteranceSegmenter.class);
+
+    // Defaults (overridable through .env)
+    private static final int DEFAULT_START_MS = 100;        // Speech needed before an utterance starts
+    private static final int DEFAULT_END_SILENCE_MS = 700;  // Pause that ends an utterance
+    private static final int DEFAULT_MIN_SPEECH_MS = 250;   // Shorter utterances are treated as noise
+    private static final int DEFAULT_MAX_SECONDS = 15;      // Utterances are cut at this length
+    private static final int DEFAULT_PREROLL_MS = 300;      // Audio kept from before speech started
+    private static final double FLOOR_ADAPT_RATE = 0.05;    // How fast the floor follows rising noise
+
+    /**
+     * Receives finished utterances (called on the capture thread).
+     */
+    public interface Listener {
+        /**
+         * @param pcm The utterance in a pooled buffer (position 0, limit = length); owned by the listener
+         */
+        void onUtterance(BufferPool.Lease pcm);
+    }
+
+    private final AudioFormat format;
+    private final VoiceActivityDetector vad;
+    private final Listener listener;
+    private final int startMs;
+    private final int endSilenceMs;
+    private final int minSpeechMs;
+    private final int preRollBytes;
+
+    private final PcmRingBuffer preRoll;
+    private final PcmRingBuffer utterance;
+
+    private double noiseFloorDb;
+    private volatile double extraThresholdDb = 0;
+    private boolean inUtterance = false;
+    private int speechRunMs = 0;
+    private int silenceRunMs = 0;
+    private int speechMs = 0;
+
+    private long emitted = 0;
+    private long discarded = 0;
+
+    public UtteranceSegmenter(AudioFormat format, VoiceActivityDetector vad, Listener listener) {
+        this.format = format;
+        this.vad = vad;
+        this.listener = listener;
+        this.startMs = EnvLoader.getInt("HANDSFREE_START_MS", DEFAULT_START_MS);
+        this.endSilenceMs = EnvLoader.getInt("HANDSFREE_END_SILENCE_MS", DEFAULT_END_SILENCE_MS);
+        this.minSpeechMs = EnvLoader.getInt("HANDSFREE_MIN_SPEECH_MS", DEFAULT_MIN_SPEECH_MS);
+        int maxSeconds = EnvLoader.getInt("HANDSFREE_MAX_SECONDS", DEFAULT_MAX_SECONDS);
+        this.preRollBytes = bytesFor(EnvLoader.getInt("HANDSFREE_PREROLL_MS", DEFAULT_PREROLL_MS));
+
+        this.preRoll = new PcmRingBuffer(Math.max(preRollBytes, bytesFor(startMs) * 2));
+        this.utterance = new PcmRingBuffer(bytesFor(maxSeconds * 1000));
+        this.noiseFloorDb = vad.getMinNoiseFloorDb();
+    }
+
+    /**
+     * Processes one chunk of 16-bit little-endian mono PCM.
+     */
+    public void process(byte[] pcm, int length) {
+        int chunkMs = (int) (length / format.getFrameSize() * 1000L / (long) format.getFrameRate());
+        double energy = VoiceActivityDetector.frameEnergyDb(pcm, 0, length);
+        double zcr = VoiceActivityDetector.zeroCrossingRate(pcm, 0, length);
+        boolean speech = vad.isSpeech(energy - extraThresholdDb, zcr, noiseFloorDb);
+
+        if (!speech) {
+            // Follow falling noise at once and rising noise slowly
+            noiseFloorDb = energy < noiseFloorDb ? energy : noiseFloorDb + FLOOR_ADAPT_RATE * (energy - noiseFloorDb);
+            noiseFloorDb = Math.max(noiseFloorDb, vad.getMinNoiseFloorDb());
+        }
+
+        if (!inUtterance) {
+            preRoll.write(pcm, 0, length);
+            speechRunMs = speech ? speechRunMs + chunkMs : 0;
+            if (speechRunMs >= startMs) {
+                inUtterance = true;
+                utterance.clear();
+                preRoll.appendLastTo(utterance, Math.max(preRollBytes, bytesFor(speechRunMs)));
+                speechMs = speechRunMs;
+                silenceRunMs = 0;
+                logger.debug("Utterance started (noise floor {} dBFS)", Math.round(noiseFloorDb));
+            }
+            return;
+        }
+
+        utterance.write(pcm, 0, length);
+        if (speech) {
+            speechMs += chunkMs;
+            silenceRunMs = 0;
+        } else {
+            silenceRunMs += chunkMs;
+        }
+
+        if (silenceRunMs >= endSilenceMs) {
+            finish();
+        } else if (utterance.size() >= utterance.capacity()) {
+            logger.info("Utterance reached the maximum length - cutting it here");
+            finish();
+        }
+    }
+
+    /**
+     * Ends the current utterance now, emitting it if it holds enough speech.
+     */
+    public void finish() {
+        if (!inUtterance) {
+            return;
+        }
+        inUtterance = false;
+        speechRunMs = 0;
+        preRoll.clear();
+
+        if (speechMs < minSpeechMs) {
+            discarded++;
+            logger.debug("Discarded {} ms blip as noise", speechMs);
+            return;
+        }
+        BufferPool.Lease pcm = BufferPool.shared().lease(utterance.size());
+        utterance.copyTo(pcm.buffer());
+        pcm.buffer().flip();
+        emitted++;
+        logger.info("🗣️ Utterance #{} segmented: {} ms of speech, {} bytes", emitted, speechMs, pcm.buffer().limit());
+        listener.onUtterance(pcm);
+    }
+
+    /**
+     * Drops any partial utterance and pre-roll without emitting it.
+     */
+    public void reset() {
+        inUtterance = false;
+        speechRunMs = 0;
+        preRoll.clear();
+        utterance.clear();
+    }
+
+    /**
+     * Makes speech detection less sensitive by this many dB (used as an echo gate
+     * while the cat is talking). 0 restores normal sensitivity.
+     */
+    public void setExtraThresholdDb(double extraThresholdDb) {
+        this.extraThresholdDb = extraThresholdDb;
+    }
+
+    public boolean isInUtterance() {
+        return inUtterance;
+    }
+
+    public long getEmittedCount() {
+        return emitted;
+    }
+
+    public long getDiscardedCount() {
+        return discarded;
+    }
+
+    private int bytesFor(int millis) {
+        return (int) (format.getFrameRate() * millis / 1000) * format.getFrameSize();
+    }
+}
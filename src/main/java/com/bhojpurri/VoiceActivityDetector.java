@@ -0,0 +1,308 @@
+package com.bhojpurri;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import javax.sound.sampled.AudioFormat;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Energy + zero-crossing-rate voice activity detector for 16-bit mono PCM.
+ * Works on fixed-size frames and trims leading/trailing silence (and
+ * optionally shortens long pauses) in place, so clips uploaded to Whisper
+ * contain as little billed silence as possible. All per-frame state lives
+ * in arrays that are reused between clips.
+ */
+public class VoiceActivityDetector {
+    private static final Logger logger = LoggerFactory.getLogger(VoiceActivityDetector.class);
+
+    // Defaults (overridable through .env)
+    private static final int DEFAULT_FRAME_MS = 20;
+    private static final int DEFAULT_THRESHOLD_DB = 10;      // Speech must be this far above the noise floor
+    private static final int DEFAULT_MIN_SPEECH_DBFS = -55;  // Never call anything quieter than this speech
+    private static final int DEFAULT_HANGOVER_MS = 200;      // Keep talking frames after the energy drops
+    private static final int DEFAULT_PADDING_MS = 150;       // Silence kept before/after speech
+    private static final int DEFAULT_MAX_PAUSE_MS = 0;       // 0 = do not shorten internal pauses
+    private static final double FRICATIVE_ZCR = 0.25;        // Crossings per sample typical of "s", "f", "sh"
+    private static final double SILENCE_DB = -96.0;
+
+    private final boolean enabled;
+    private final int frameMs;
+    private final double thresholdDb;
+    private final double minSpeechDbfs;
+    private final int hangoverMs;
+    private final int paddingMs;
+    private final int maxPauseMs;
+
+    // Reused per-frame buffers (grown only when a longer clip arrives)
+    private double[] energyDb = new double[0];
+    private double[] zcr = new double[0];
+    private boolean[] speech = new boolean[0];
+
+    private double totalRemovedSeconds = 0;
+
+    public VoiceActivityDetector() {
+        this(EnvLoader.getBoolean("VAD_ENABLED", true),
+             EnvLoader.getInt("VAD_FRAME_MS", DEFAULT_FRAME_MS),
+             EnvLoader.getInt("VAD_THRESHOLD_DB", DEFAULT_THRESHOLD_DB),
+             EnvLoader.getInt("VAD_MIN_SPEECH_DBFS", DEFAULT_MIN_SPEECH_DBFS),
+             EnvLoader.getInt("VAD_HANGOVER_MS", DEFAULT_HANGOVER_MS),
+             EnvLoader.getInt("VAD_PADDING_MS", DEFAULT_PADDING_MS),
+             EnvLoader.getInt("VAD_MAX_PAUSE_MS", DEFAULT_MAX_PAUSE_MS));
+    }
+
+    /**
+     * @param enabled Whether trimming is active
+     * @param frameMs Analysis frame length
+     * @param thresholdDb How far above the noise floor a frame must be to count as speech
+     * @param minSpeechDbfs Absolute level below which a frame is never speech
+     * @param hangoverMs How long a frame stays "speech" after the level drops
+     * @param paddingMs Silence kept around the speech when trimming
+     * @param maxPauseMs Longest internal pause kept; longer pauses are shortened (0 = off)
+     */
+    public VoiceActivityDetector(boolean enabled, int frameMs, int thresholdDb, int minSpeechDbfs,
+                                 int hangoverMs, int paddingMs, int maxPauseMs) {
+        this.enabled = enabled;
+        this.frameMs = Math.max(5, frameMs);
+        this.thresholdDb = thresholdDb;
+        this.minSpeechDbfs = minSpeechDbfs;
+        this.hangoverMs = Math.max(0, hangoverMs);
+        this.paddingMs = Math.max(0, paddingMs);
+        this.maxPauseMs = Math.max(0, maxPauseMs);
+    }
+
+    /**
+     * Trims silence from a clip in place.
+     * The buffer's limit is moved to the new end of the audio.
+     *
+     * @param pcm 16-bit little-endian mono PCM (position 0, limit = length)
+     * @param format Format of the PCM data
+     * @return Seconds of audio removed
+     */
+    public double trim(ByteBuffer pcm, AudioFormat format) {
+        int frameSize = format.getFrameSize();
+        if (!enabled || format.getSampleSizeInBits() != 16 || format.getChannels() != 1) {
+            return 0;
+        }
+
+        int bytesPerFrame = (int) (format.getFrameRate() * frameMs / 1000) * frameSize;
+        int frames = pcm.limit() / bytesPerFrame;
+        if (frames == 0) {
+            return 0;
+        }
+        ensureCapacity(frames);
+        ByteOrder order = pcm.order();
+        pcm.order(ByteOrder.LITTLE_ENDIAN);
+
+        // Pass 1: frame features and noise floor (quietest frame)
+        double noiseFloor = 0;
+        for (int f = 0; f < frames; f++) {
+            energyDb[f] = frameEnergyDb(pcm, f * bytesPerFrame, bytesPerFrame);
+            zcr[f] = zeroCrossingRate(pcm, f * bytesPerFrame, bytesPerFrame);
+            noiseFloor = Math.min(noiseFloor, energyDb[f]);
+        }
+        // Digital silence would put the floor at -96 dB and make everything "speech"
+        noiseFloor = Math.max(noiseFloor, getMinNoiseFloorDb());
+
+        // Pass 2: classification with hangover
+        int hangoverFrames = hangoverMs / frameMs;
+        int hang = 0;
+        int firstSpeech = -1;
+        int lastSpeech = -1;
+        for (int f = 0; f < frames; f++) {
+            boolean active = isSpeech(energyDb[f], zcr[f], noiseFloor);
+            if (active) {
+                hang = hangoverFrames;
+                if (firstSpeech < 0) firstSpeech = f;
+                lastSpeech = f;
+            } else if (hang > 0) {
+                hang--;
+                active = true;
+            }
+            speech[f] = active;
+        }
+
+        int originalLength = pcm.limit();
+        if (firstSpeech < 0) {
+            // Nothing but silence - keep the clip as-is and let the caller decide
+            pcm.order(order);
+            logger.info("VAD found no speech in {} frames (noise floor {} dBFS)", frames, Math.round(noiseFloor));
+            return 0;
+        }
+
+        // Pass 3: compact in place - padding around speech, shortened pauses
+        int paddingFrames = paddingMs / frameMs;
+        int maxPauseFrames = maxPauseMs > 0 ? Math.max(maxPauseMs / frameMs, 2 * paddingFrames) : Integer.MAX_VALUE;
+        int start = Math.max(0, firstSpeech - paddingFrames);
+        int end = Math.min(frames, lastSpeech + hangoverFrames + paddingFrames + 1);
+
+        int write = 0;
+        int f = start;
+        while (f < end) {
+            if (speech[f]) {
+                int runEnd = f;
+                while (runEnd < end && speech[runEnd]) runEnd++;
+                write = move(pcm, f * bytesPerFrame, write, (runEnd - f) * bytesPerFrame);
+                f = runEnd;
+            } else {
+                int runEnd = f;
+                while (runEnd < end && !speech[runEnd]) runEnd++;
+                int run = runEnd - f;
+                if (run > maxPauseFrames) {
+                    // Keep half the allowed pause on each side of the gap
+                    int keepHead = maxPauseFrames / 2;
+                    int keepTail = maxPauseFrames - keepHead;
+                    write = move(pcm, f * bytesPerFrame, write, keepHead * bytesPerFrame);
+                    write = move(pcm, (runEnd - keepTail) * bytesPerFrame, write, keepTail * bytesPerFrame);
+                } else {
+                    write = move(pcm, f * bytesPerFrame, write, run * bytesPerFrame);
+                }
+                f = runEnd;
+            }
+        }
+        pcm.limit(write);
+        pcm.order(order);
+
+        double removed = (originalLength - write) / (double) frameSize / format.getFrameRate();
+        totalRemovedSeconds += removed;
+        logger.info("VAD removed {} s of silence ({} -> {} bytes, noise floor {} dBFS, total removed {} s)",
+            String.format("%.2f", removed), originalLength, write, Math.round(noiseFloor),
+            String.format("%.2f", totalRemovedSeconds));
+        return removed;
+    }
+
+    /**
+     * Classifies one frame. Loud frames are speech; quieter frames with a
+     * high zero-crossing rate (unvoiced consonants) count as well.
+     */
+    public boolean isSpeech(double frameEnergyDb, double frameZcr, double noiseFloorDb) {
+        if (frameEnergyDb < minSpeechDbfs) {
+            return false;
+        }
+        double aboveFloor = frameEnergyDb - noiseFloorDb;
+        return aboveFloor >= thresholdDb
+            || (aboveFloor >= thresholdDb / 2 && frameZcr >= FRICATIVE_ZCR);
+    }
+
+    /**
+     * Lowest noise floor worth tracking; anything quieter is treated as this level
+     * so that digital silence does not turn every sound into speech.
+     */
+    public double getMinNoiseFloorDb() {
+        return minSpeechDbfs - thresholdDb;
+    }
+
+    /**
+     * RMS level of a frame in dBFS.
+     */
+    public static double frameEnergyDb(ByteBuffer pcm, int offset, int length) {
+        long sumSquares = 0;
+        int samples = length / 2;
+        for (int i = 0; i < samples; i++) {
+            int s = pcm.getShort(offset + 2 * i);
+            sumSquares += (long) s * s;
+        }
+        if (sumSquares == 0) {
+            return SILENCE_DB;
+        }
+        double rms = Math.sqrt(sumSquares / (double) samples) / 32768.0;
+        return Math.max(SILENCE_DB, 20 * Math.log10(rms));
+    }
+
+    /**
+     * Fraction of adjacent samples whose sign differs.
+     */
+    public static double zeroCrossingRate(ByteBuffer pcm, int offset, int length) {
+        int samples = length / 2;
+        if (samples < 2) {
+            return 0;
+        }
+        int crossings = 0;
+        boolean previousNegative = pcm.getShort(offset) < 0;
+        for (int i = 1; i < samples; i++) {
+            boolean negative = pcm.getShort(offset + 2 * i) < 0;
+            if (negative != previousNegative) {
+                crossings++;
+            }
+            previousNegative = negative;
+        }
+        return crossings / (double) (samples - 1);
+    }
+
+    /**
+     * RMS level of a frame of little-endian 16-bit samples in dBFS.
+     */
+    public static double frameEnergyDb(byte[] pcm, int offset, int length) {
+        long sumSquares = 0;
+        int samples = length / 2;
+        for (int i = 0; i < samples; i++) {
+            int s = sampleAt(pcm, offset + 2 * i);
+            sumSquares += (long) s * s;
+        }
+        if (sumSquares == 0) {
+            return SILENCE_DB;
+        }
+        double rms = Math.sqrt(sumSquares / (double) samples) / 32768.0;
+        return Math.max(SILENCE_DB, 20 * Math.log10(rms));
+    }
+
+    /**
+     * Zero-crossing rate of a frame of little-endian 16-bit samples.
+     */
+    public static double zeroCrossingRate(byte[] pcm, int offset, int length) {
+        int samples = length / 2;
+        if (samples < 2) {
+            return 0;
+        }
+        int crossings = 0;
+        boolean previousNegative = sampleAt(pcm, offset) < 0;
+        for (int i = 1; i < samples; i++) {
+            boolean negative = sampleAt(pcm, offset + 2 * i) < 0;
+            if (negative != previousNegative) {
+                crossings++;
+            }
+            previousNegative = negative;
+        }
+        return crossings / (double) (samples - 1);
+    }
+
+    private static int sampleAt(byte[] pcm, int index) {
+        return (short) ((pcm[index] & 0xFF) | (pcm[index + 1] << 8));
+    }
+
+    /**
+     * Total silence removed since start-up, in seconds.
+     */
+    public double getTotalRemovedSeconds() {
+        return totalRemovedSeconds;
+    }
+
+    private void ensureCapacity(int frames) {
+        if (energyDb.length < frames) {
+            energyDb = new double[frames];
+            zcr = new double[frames];
+            speech = new boolean[frames];
+        }
+    }
+
+    /**
+     * Moves bytes towards the start of the same buffer (dest <= src).
+     * Copies forward in 8-byte steps, which is safe for overlapping ranges in this direction.
+     *
+     * @return New write position
+     */
+    private static int move(ByteBuffer buf, int src, int dest, int length) {
+        if (src != dest) {
+            int i = 0;
+            for (; i + 8 <= length; i += 8) {
+                buf.putLong(dest + i, buf.getLong(src + i));
+            }
+            for (; i < length; i++) {
+                buf.put(dest + i, buf.get(src + i));
+            }
+        }
+        return dest + length;
+    }
+}
@@ -0,0 +1,59 @@
+package com.bhojpurri;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import javax.sound.sampled.AudioFormat;
+
+/**
+ * Builds the canonical 44-byte RIFF/WAVE header for PCM audio.
+ */
+public final class WavHeader {
+    public static final int SIZE = 44;
+
+    private WavHeader() {
+    }
+
+    /**
+     * Creates a header for the given PCM format and data length.
+     *
+     * @param format PCM format (16-bit signed little-endian expected)
+     * @param dataLength Number of PCM bytes that follow the header
+     * @return A buffer ready to be read (position 0, limit 44)
+     */
+    public static ByteBuffer create(AudioFormat format, long dataLength) {
+        ByteBuffer header = ByteBuffer.allocate(SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        write(header, format, dataLength);
+        header.flip();
+        return header;
+    }
+
+    /**
+     * Writes a header into an existing buffer at its current position.
+     */
+    public static void write(ByteBuffer header, AudioFormat format, long dataLength) {
+        ByteOrder previous = header.order();
+        header.order(ByteOrder.LITTLE_ENDIAN);
+
+        int channels = format.getChannels();
+        int sampleRate = (int) format.getSampleRate();
+        int bitsPerSample = format.getSampleSizeInBits();
+        int blockAlign = channels * bitsPerSample / 8;
+
+        header.put((byte) 'R').put((byte) 'I').put((byte) 'F').put((byte) 'F');
+        header.putInt((int) Math.min(0xFFFFFFFFL, dataLength + SIZE - 8));
+        header.put((byte) 'W').put((byte) 'A').put((byte) 'V').put((byte) 'E');
+        header.put((byte) 'f').put((byte) 'm').put((byte) 't').put((byte) ' ');
+        header.putInt(16);                          // fmt chunk size
+        header.putShort((short) 1);                 // PCM
+        header.putShort((short) channels);
+        header.putInt(sampleRate);
+        header.putInt(sampleRate * blockAlign);     // Byte rate
+        header.putShort((short) blockAlign);
+        header.putShort((short) bitsPerSample);
+        header.put((byte) 'd').put((byte) 'a').put((byte) 't').put((byte) 'a');
+        header.putInt((int) Math.min(0xFFFFFFFFL, dataLength));
+
+        header.order(previous);
+    }
+}
@@ -0,0 +1,161 @@
+package com.bhojpurri;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import javax.sound.sampled.AudioFormat;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Streams PCM into a WAV file in a single pass.
+ * The 44-byte header is reserved up front, audio is appended with positional
+ * writes, and the RIFF and data lengths are patched on close. The lengths are
+ * also refreshed every few seconds, and {@link #recover(Path)} repairs a file
+ * whose writer never got to close it, so a crash costs at most the tail.
+ */
+public class WavWriter implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(WavWriter.class);
+
+    private static final int RIFF_SIZE_OFFSET = 4;
+    private static final int DATA_SIZE_OFFSET = 40;
+    private static final int DEFAULT_HEADER_SYNC_MS = 2000;  // How often lengths are refreshed while writing
+
+    private final Path path;
+    private final FileChannel channel;
+    private final long headerSyncBytes;
+    private final ByteBuffer lengthField = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+    private long dataLength = 0;
+    private long lastSyncedLength = 0;
+    private byte[] wrappedArray;     // Reused wrapper for byte[] writes from the capture loop
+    private ByteBuffer wrapped;
+    private boolean closed = false;
+
+    private WavWriter(Path path, FileChannel channel, AudioFormat format) {
+        this.path = path;
+        this.channel = channel;
+        int syncMs = EnvLoader.getInt("WAV_HEADER_SYNC_MS", DEFAULT_HEADER_SYNC_MS);
+        this.headerSyncBytes = syncMs <= 0 ? Long.MAX_VALUE
+            : (long) (format.getFrameRate() * syncMs / 1000) * format.getFrameSize();
+    }
+
+    /**
+     * Creates a new WAV file (fails if it already exists) and reserves its header.
+     */
+    public static WavWriter create(Path path, AudioFormat format) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = WavHeader.create(format, 0);
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return new WavWriter(path, channel, format);
+    }
+
+    /**
+     * Appends the remaining bytes of a buffer.
+     */
+    public void write(ByteBuffer pcm) throws IOException {
+        while (pcm.hasRemaining()) {
+            dataLength += channel.write(pcm, WavHeader.SIZE + dataLength);
+        }
+        if (dataLength - lastSyncedLength >= headerSyncBytes) {
+            patchLengths();
+        }
+    }
+
+    /**
+     * Appends bytes from an array (the wrapper is reused while the array stays the same).
+     */
+    public void write(byte[] pcm, int offset, int length) throws IOException {
+        if (pcm != wrappedArray) {
+            wrappedArray = pcm;
+            wrapped = ByteBuffer.wrap(pcm);
+        }
+        wrapped.limit(offset + length).position(offset);
+        write(wrapped);
+    }
+
+    public long getDataLength() {
+        return dataLength;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Patches the header lengths and closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            patchLengths();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void patchLengths() throws IOException {
+        writeLength(RIFF_SIZE_OFFSET, dataLength + WavHeader.SIZE - 8);
+        writeLength(DATA_SIZE_OFFSET, dataLength);
+        lastSyncedLength = dataLength;
+    }
+
+    private void writeLength(long position, long value) throws IOException {
+        lengthField.clear();
+        lengthField.putInt(0, (int) Math.min(0xFFFFFFFFL, value));
+        while (lengthField.hasRemaining()) {
+            channel.write(lengthField, position + lengthField.position());
+        }
+    }
+
+    /**
+     * Repairs the header lengths of a canonical 44-byte-header WAV whose writer
+     * did not close it (e.g. after a crash). Any trailing partial frame is kept.
+     *
+     * @return true if the header had to be patched
+     */
+    public static boolean recover(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long size = channel.size();
+            if (size < WavHeader.SIZE) {
+                return false;
+            }
+            ByteBuffer header = ByteBuffer.allocate(WavHeader.SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+                // Keep reading until the header is complete
+            }
+            if (header.getInt(0) != 0x46464952 || header.getInt(8) != 0x45564157   // "RIFF", "WAVE"
+                    || header.getInt(36) != 0x61746164) {                         // "data"
+                return false; // Not a header this writer produced
+            }
+            long dataLength = size - WavHeader.SIZE;
+            if ((header.getInt(DATA_SIZE_OFFSET) & 0xFFFFFFFFL) == Math.min(0xFFFFFFFFL, dataLength)) {
+                return false;
+            }
+            ByteBuffer field = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            field.putInt(0, (int) Math.min(0xFFFFFFFFL, dataLength + WavHeader.SIZE - 8));
+            channel.write(field, RIFF_SIZE_OFFSET);
+            field.clear();
+            field.putInt(0, (int) Math.min(0xFFFFFFFFL, dataLength));
+            channel.write(field, DATA_SIZE_OFFSET);
+            logger.warn("🩹 Recovered unfinished recording {} ({} bytes of audio)", path.getFileName(), dataLength);
+            return true;
+        }
+    }
+}